@@ -28,6 +28,10 @@ class WeatherData(BaseModel):
     humidity: Optional[float]
     precipitation: Optional[float]
     wind_speed: Optional[float]
+    # Rolling totals, absent when the backend has no history for the location yet
+    precipitation_3h: Optional[float] = None
+    precipitation_24h: Optional[float] = None
+    precipitation_72h: Optional[float] = None
 
 class FloodRiskRequest(BaseModel):
     weather: WeatherData
@@ -37,6 +41,12 @@ class FloodRiskResponse(BaseModel):
     risk_level: str
     factors: List[str]
 
+class BatchFloodRiskRequest(BaseModel):
+    weather: List[WeatherData]
+
+class BatchFloodRiskResponse(BaseModel):
+    predictions: List[FloodRiskResponse]
+
 @app.post("/predict", response_model=FloodRiskResponse)
 async def predict_flood_risk(request: FloodRiskRequest):
     try:
@@ -58,6 +68,26 @@ async def predict_flood_risk(request: FloodRiskRequest):
     except Exception as e:
         raise HTTPException(status_code=500, detail=str(e))
 
+@app.post("/predict/batch", response_model=BatchFloodRiskResponse)
+async def predict_flood_risk_batch(request: BatchFloodRiskRequest):
+    try:
+        weather_dicts = [weather.dict() for weather in request.weather]
+
+        # Score all points in one vectorized model call
+        risk_scores = model.predict_risk_batch(weather_dicts)
+
+        predictions = [
+            FloodRiskResponse(
+                risk_score=risk_score,
+                risk_level=get_risk_level(risk_score),
+                factors=get_risk_factors(weather_dict, risk_score)
+            )
+            for weather_dict, risk_score in zip(weather_dicts, risk_scores)
+        ]
+        return BatchFloodRiskResponse(predictions=predictions)
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=str(e))
+
 @app.get("/health")
 async def health_check():
     return {"status": "healthy"}
@@ -0,0 +1,46 @@
+"""Export the trained flood risk forest as a flat node table for the backend's embedded model.
+
+Usage: python export_model.py [model_path] [output_path]
+"""
+import json
+import sys
+
+from flood_risk_model import FEATURES, FloodRiskModel
+
+
+def export_forest(model, output_path):
+    """Write every tree's split and leaf arrays plus the scaler parameters as JSON"""
+    trees = []
+    for estimator in model.model.estimators_:
+        tree = estimator.tree_
+        trees.append({
+            'feature': tree.feature.tolist(),
+            'threshold': tree.threshold.tolist(),
+            'left': tree.children_left.tolist(),
+            'right': tree.children_right.tolist(),
+            'value': tree.value[:, 0, 0].tolist()
+        })
+
+    export = {
+        'features': FEATURES,
+        'scaler': {
+            'mean': model.scaler.mean_.tolist(),
+            'scale': model.scaler.scale_.tolist()
+        },
+        'trees': trees
+    }
+    with open(output_path, 'w') as f:
+        json.dump(export, f)
+
+
+if __name__ == '__main__':
+    model_path = sys.argv[1] if len(sys.argv) > 1 else 'flood_risk_model.joblib'
+    output_path = sys.argv[2] if len(sys.argv) > 2 else 'flood_risk_forest.json'
+
+    model = FloodRiskModel()
+    model.load_model(model_path)
+    if not model.is_trained:
+        sys.exit(f"No trained model found at {model_path}")
+
+    export_forest(model, output_path)
+    print(f"Exported {len(model.model.estimators_)} trees to {output_path}")
@@ -5,6 +5,11 @@ from sklearn.preprocessing import StandardScaler
 import joblib
 import os
 
+# Model inputs in training, export and request order. The backend's ModelFeature enum lists the
+# same names in the same order; the rolling precipitation totals may be missing (None).
+FEATURES = ['temperature', 'humidity', 'precipitation', 'wind_speed',
+            'precipitation_3h', 'precipitation_24h', 'precipitation_72h']
+
 class FloodRiskModel:
     def __init__(self):
         self.model = RandomForestRegressor(
@@ -15,17 +20,23 @@ class FloodRiskModel:
         self.scaler = StandardScaler()
         self.is_trained = False
 
+    def raw_features(self, weather_data_list):
+        """Feature matrix in FEATURES order, with NaN for missing values"""
+        return np.array([
+            [weather_data.get(name) for name in FEATURES]
+            for weather_data in weather_data_list
+        ], dtype=float)
+
+    def scale_features(self, features):
+        """Standardize features; missing values are imputed with the training mean like the embedded model does"""
+        return np.nan_to_num(self.scaler.transform(features), nan=0.0)
+
     def preprocess_features(self, weather_data):
         """Convert weather data into model features"""
-        features = np.array([
-            weather_data['temperature'],
-            weather_data['humidity'],
-            weather_data['precipitation'],
-            weather_data['wind_speed']
-        ]).reshape(1, -1)
+        features = self.raw_features([weather_data])
         
         if self.is_trained:
-            features = self.scaler.transform(features)
+            features = self.scale_features(features)
         
         return features
 
@@ -38,6 +49,19 @@ class FloodRiskModel:
         risk_score = self.model.predict(features)[0]
         return min(max(risk_score, 0), 100)  # Ensure score is between 0 and 100
 
+    def predict_risk_batch(self, weather_data_list):
+        """Predict flood risk scores for many weather observations in one model call"""
+        if not weather_data_list:
+            return []
+
+        if not self.is_trained:
+            return [float(self._calculate_basic_risk(weather_data)) for weather_data in weather_data_list]
+
+        features = self.scale_features(self.raw_features(weather_data_list))
+
+        risk_scores = np.clip(self.model.predict(features), 0, 100)
+        return [float(risk_score) for risk_score in risk_scores]
+
     def _calculate_basic_risk(self, weather_data):
         """Calculate basic risk score when model is not trained"""
         risk_score = 0
@@ -68,19 +92,11 @@ class FloodRiskModel:
             return
         
         # Prepare training data
-        X = []
-        y = []
-        
-        for data_point in historical_data:
-            features = self.preprocess_features(data_point['weather'])
-            X.append(features[0])
-            y.append(data_point['actual_risk'])
-        
-        X = np.array(X)
-        y = np.array(y)
+        X = self.raw_features([data_point['weather'] for data_point in historical_data])
+        y = np.array([data_point['actual_risk'] for data_point in historical_data])
         
-        # Scale features
-        X = self.scaler.fit_transform(X)
+        # Scale features; the scaler ignores missing values when fitting
+        X = np.nan_to_num(self.scaler.fit_transform(X), nan=0.0)
         
         # Train model
         self.model.fit(X, y)
@@ -103,6 +119,9 @@ class FloodRiskModel:
             return
         
         model_data = joblib.load(model_path)
+        if model_data['scaler'].n_features_in_ != len(FEATURES):
+            raise ValueError(f"Model at {model_path} was trained on {model_data['scaler'].n_features_in_} "
+                             f"features, expected {FEATURES}; retrain it")
         self.model = model_data['model']
         self.scaler = model_data['scaler']
         self.is_trained = True
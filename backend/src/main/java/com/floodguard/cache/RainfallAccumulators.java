@@ -0,0 +1,123 @@
+package com.floodguard.cache;
+
+import com.floodguard.geo.GridCell;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Rolling rainfall per grid cell, kept as a ring of 72 hourly buckets in primitive arrays.
+ * Recording an observation is O(1); a bucket whose hour has passed out of the window is
+ * recycled on the next write to its slot. A bucket holds the mean of the hourly rainfall
+ * values ({@code rain.1h}) reported during that hour, and window totals sum those means.
+ */
+@Component
+public class RainfallAccumulators {
+
+    public static final int WINDOW_HOURS = 72;
+
+    private final Cache<GridCell, Accumulator> accumulators;
+
+    public RainfallAccumulators(@Value("${weather.cache.max-size:10000}") long maxCells) {
+        this.accumulators = Caffeine.newBuilder()
+            .maximumSize(maxCells)
+            .expireAfterAccess(Duration.ofHours(WINDOW_HOURS))
+            .build();
+    }
+
+    public void record(GridCell cell, LocalDateTime observedAt, double precipitation) {
+        if (Double.isNaN(precipitation)) {
+            return;
+        }
+        accumulators.get(cell, key -> new Accumulator()).add(epochHour(observedAt), precipitation);
+    }
+
+    /**
+     * Sets the bucket {@code hoursAgo} hours before {@code now} to an already aggregated value,
+     * as read back from the observation store.
+     */
+    public void seed(GridCell cell, LocalDateTime now, int hoursAgo, double precipitation) {
+        accumulators.get(cell, key -> new Accumulator()).set(epochHour(now) - hoursAgo, precipitation);
+    }
+
+    /**
+     * Trailing 3h, 24h and 72h totals ending with the hour of {@code now}, or null when nothing
+     * has been recorded for the cell.
+     */
+    public RainfallTotals totals(GridCell cell, LocalDateTime now) {
+        Accumulator accumulator = accumulators.getIfPresent(cell);
+        return accumulator == null ? null : accumulator.totals(epochHour(now));
+    }
+
+    public long size() {
+        return accumulators.estimatedSize();
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    private static final class Accumulator {
+        private final long[] hours = new long[WINDOW_HOURS];
+        private final double[] sums = new double[WINDOW_HOURS];
+        private final int[] counts = new int[WINDOW_HOURS];
+
+        Accumulator() {
+            Arrays.fill(hours, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long hour, double precipitation) {
+            int slot = slot(hour);
+            if (hours[slot] != hour) {
+                if (hours[slot] > hour) {
+                    return; // Older than the window the slot now holds
+                }
+                hours[slot] = hour;
+                sums[slot] = 0;
+                counts[slot] = 0;
+            }
+            sums[slot] += precipitation;
+            counts[slot]++;
+        }
+
+        synchronized void set(long hour, double precipitation) {
+            int slot = slot(hour);
+            if (hours[slot] >= hour) {
+                return; // Observations recorded live take precedence
+            }
+            hours[slot] = hour;
+            sums[slot] = precipitation;
+            counts[slot] = 1;
+        }
+
+        synchronized RainfallTotals totals(long currentHour) {
+            double last3h = 0, last24h = 0, last72h = 0;
+            for (int hoursAgo = 0; hoursAgo < WINDOW_HOURS; hoursAgo++) {
+                long hour = currentHour - hoursAgo;
+                int slot = slot(hour);
+                if (hours[slot] != hour || counts[slot] == 0) {
+                    continue;
+                }
+                double precipitation = sums[slot] / counts[slot];
+                last72h += precipitation;
+                if (hoursAgo < 24) {
+                    last24h += precipitation;
+                }
+                if (hoursAgo < 3) {
+                    last3h += precipitation;
+                }
+            }
+            return new RainfallTotals(last3h, last24h, last72h);
+        }
+
+        private static int slot(long hour) {
+            return Math.floorMod(hour, WINDOW_HOURS);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.floodguard.cache;
+
+import lombok.Value;
+
+/**
+ * Accumulated rainfall (mm) over trailing windows ending with the current hour.
+ */
+@Value
+public class RainfallTotals {
+    double last3h;
+    double last24h;
+    double last72h;
+}
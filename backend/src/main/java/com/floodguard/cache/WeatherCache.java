@@ -0,0 +1,167 @@
+package com.floodguard.cache;
+
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent weather and flood risk caches keyed by grid cell.
+ * Concurrent misses for the same cell share the single in-flight load instead of
+ * each calling upstream.
+ */
+@Component
+public class WeatherCache {
+
+    private final AsyncCache<GridCell, WeatherData> weatherData;
+    private final AsyncCache<GridCell, FloodRisk> floodRisk;
+    private final LongAdder weatherDataCoalesced = new LongAdder();
+    private final LongAdder floodRiskCoalesced = new LongAdder();
+    private final Duration ttl;
+
+    public WeatherCache(
+            @Value("${weather.cache.max-size:10000}") long maxSize,
+            @Value("${weather.cache.ttl-minutes:15}") long ttlMinutes) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.weatherData = newCache(maxSize, ttlMinutes);
+        this.floodRisk = newCache(maxSize, ttlMinutes);
+    }
+
+    private static <V> AsyncCache<GridCell, V> newCache(long maxSize, long ttlMinutes) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .recordStats()
+            .buildAsync();
+    }
+
+    public WeatherData getWeatherData(GridCell cell) {
+        return completedValue(weatherData, cell);
+    }
+
+    public CompletableFuture<WeatherData> getWeatherData(
+            GridCell cell, Function<GridCell, CompletableFuture<WeatherData>> loader) {
+        return load(weatherData, weatherDataCoalesced, cell, loader);
+    }
+
+    public void putWeatherData(GridCell cell, WeatherData data) {
+        weatherData.put(cell, CompletableFuture.completedFuture(data));
+    }
+
+    public FloodRisk getFloodRisk(GridCell cell) {
+        return completedValue(floodRisk, cell);
+    }
+
+    public CompletableFuture<FloodRisk> getFloodRisk(
+            GridCell cell, Function<GridCell, CompletableFuture<FloodRisk>> loader) {
+        return load(floodRisk, floodRiskCoalesced, cell, loader);
+    }
+
+    public void putFloodRisk(GridCell cell, FloodRisk risk) {
+        floodRisk.put(cell, CompletableFuture.completedFuture(risk));
+    }
+
+    /**
+     * The cell's flood risk, or null, without counting a hit or miss. For bulk readers such as
+     * tile rendering whose lookups would otherwise swamp the statistics.
+     */
+    public FloodRisk peekFloodRisk(GridCell cell) {
+        return completed(floodRisk.asMap().get(cell));
+    }
+
+    /**
+     * Visits every flood risk that has finished loading, without counting hits or misses.
+     */
+    public void forEachFloodRisk(BiConsumer<GridCell, FloodRisk> action) {
+        floodRisk.asMap().forEach((cell, future) -> {
+            FloodRisk risk = completed(future);
+            if (risk != null) {
+                action.accept(cell, risk);
+            }
+        });
+    }
+
+    public long floodRiskSize() {
+        return floodRisk.synchronous().estimatedSize();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Time since the cell's flood risk was written, or empty when it is not cached.
+     */
+    public Optional<Duration> floodRiskAge(GridCell cell) {
+        // Looked up through the map view so scheduler probes do not count as hits or misses
+        if (peekFloodRisk(cell) == null) {
+            return Optional.empty();
+        }
+        return floodRisk.synchronous().policy().expireAfterWrite().flatMap(policy -> policy.ageOf(cell));
+    }
+
+    public void invalidateAll() {
+        weatherData.synchronous().invalidateAll();
+        floodRisk.synchronous().invalidateAll();
+    }
+
+    /**
+     * Returns the cached value for the cell, starting a load when absent. Callers that
+     * arrive while a load is in flight share its future; failed loads are not cached.
+     */
+    private static <V> CompletableFuture<V> load(AsyncCache<GridCell, V> cache, LongAdder coalesced,
+                                                 GridCell cell, Function<GridCell, CompletableFuture<V>> loader) {
+        boolean[] started = new boolean[1];
+        CompletableFuture<V> future = cache.get(cell, (key, executor) -> {
+            started[0] = true;
+            return loader.apply(key);
+        });
+        if (!started[0] && !future.isDone()) {
+            coalesced.increment();
+        }
+        return future;
+    }
+
+    private static <V> V completedValue(AsyncCache<GridCell, V> cache, GridCell cell) {
+        return completed(cache.getIfPresent(cell));
+    }
+
+    private static <V> V completed(CompletableFuture<V> cached) {
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        return cached.join();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("weatherData", describe(weatherData, weatherDataCoalesced));
+        stats.put("floodRisk", describe(floodRisk, floodRiskCoalesced));
+        return stats;
+    }
+
+    private static Map<String, Object> describe(AsyncCache<GridCell, ?> cache, LongAdder coalesced) {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.synchronous().estimatedSize());
+        description.put("hits", stats.hitCount());
+        description.put("misses", stats.missCount());
+        description.put("evictions", stats.evictionCount());
+        description.put("coalesced", coalesced.sum());
+        description.put("hitRate", stats.hitRate());
+        return description;
+    }
+}
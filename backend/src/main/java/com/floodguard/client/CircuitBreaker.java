@@ -0,0 +1,162 @@
+package com.floodguard.client;
+
+import com.floodguard.exception.UpstreamServiceException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead for one outbound dependency.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the breaker opens and rejects calls
+ * immediately. Once {@code openDuration} has passed it lets a limited number of probe calls
+ * through (half-open); a successful probe closes it again, a failed one re-opens it.
+ * Independently, at most {@code maxConcurrentCalls} calls may be in flight at once.
+ * <p>
+ * Every state change starts a new generation. A call only affects the state if it completes
+ * in the generation it was admitted in, so a slow call from before the circuit opened cannot
+ * close or re-open it later.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+
+    private volatile State state = State.CLOSED;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger probesInFlight = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private long generation;
+
+    private final LongAdder successfulCalls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder rejectedByCircuit = new LongAdder();
+    private final LongAdder rejectedByBulkhead = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration,
+                          int halfOpenProbes, int maxConcurrentCalls) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        boolean probe;
+        long admittedIn;
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt.get() >= openDurationNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.OPEN
+                    || (state == State.HALF_OPEN && probesInFlight.get() >= halfOpenProbes)) {
+                rejectedByCircuit.increment();
+                return CompletableFuture.failedFuture(
+                    new UpstreamServiceException(name + " is unavailable (circuit open)"));
+            }
+            probe = state == State.HALF_OPEN;
+            if (probe) {
+                probesInFlight.incrementAndGet();
+            }
+            admittedIn = generation;
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            releaseProbe(probe, admittedIn);
+            rejectedByBulkhead.increment();
+            return CompletableFuture.failedFuture(
+                new UpstreamServiceException(name + " is saturated (bulkhead full)"));
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        return future.whenComplete((result, ex) -> {
+            bulkhead.release();
+            if (ex == null) {
+                onSuccess(probe, admittedIn);
+            } else {
+                onFailure(probe, admittedIn);
+            }
+        });
+    }
+
+    private synchronized void onSuccess(boolean probe, long admittedIn) {
+        successfulCalls.increment();
+        releaseProbe(probe, admittedIn);
+        if (admittedIn != generation) {
+            return;
+        }
+        consecutiveFailures.set(0);
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private synchronized void onFailure(boolean probe, long admittedIn) {
+        failedCalls.increment();
+        releaseProbe(probe, admittedIn);
+        if (admittedIn != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            transitionTo(State.OPEN);
+            openedAt.set(System.nanoTime());
+        }
+    }
+
+    private synchronized void releaseProbe(boolean probe, long admittedIn) {
+        // Probe slots are reset on every transition, so only the current generation holds one
+        if (probe && admittedIn == generation) {
+            probesInFlight.decrementAndGet();
+        }
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+        consecutiveFailures.set(0);
+        probesInFlight.set(0);
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("state", state);
+        metrics.put("consecutiveFailures", consecutiveFailures.get());
+        metrics.put("inFlight", maxConcurrentCalls - bulkhead.availablePermits());
+        metrics.put("maxConcurrentCalls", maxConcurrentCalls);
+        metrics.put("successfulCalls", successfulCalls.sum());
+        metrics.put("failedCalls", failedCalls.sum());
+        metrics.put("rejectedByCircuit", rejectedByCircuit.sum());
+        metrics.put("rejectedByBulkhead", rejectedByBulkhead.sum());
+        return metrics;
+    }
+}
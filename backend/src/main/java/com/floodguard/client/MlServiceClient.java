@@ -0,0 +1,109 @@
+package com.floodguard.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.UpstreamServiceException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking client for the Python ML service. Requests time out after
+ * {@code ml.service.timeout} so a hung model never pins a servlet thread.
+ */
+@Component
+public class MlServiceClient {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final String serviceUrl;
+    private final Duration readTimeout;
+
+    public MlServiceClient(
+            ObjectMapper objectMapper,
+            ThreadPoolTaskExecutor upstreamExecutor,
+            @Qualifier("mlServiceCircuitBreaker") CircuitBreaker circuitBreaker,
+            @Value("${ml.service.url}") String serviceUrl,
+            @Value("${ml.service.connect-timeout:1000}") long connectTimeoutMillis,
+            @Value("${ml.service.timeout:5000}") long readTimeoutMillis) {
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .executor(upstreamExecutor)
+            .build();
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.serviceUrl = serviceUrl;
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+    }
+
+    public CompletableFuture<Map<String, Object>> predict(Map<String, Object> weather) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("weather", weather);
+        return post("/predict", requestBody);
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<Map<String, Object>>> predictBatch(List<Map<String, Object>> weather) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("weather", weather);
+        return post("/predict/batch", requestBody).thenApply(response -> {
+            List<Map<String, Object>> predictions = (List<Map<String, Object>>) response.get("predictions");
+            if (predictions == null || predictions.size() != weather.size()) {
+                throw new UpstreamServiceException("ML batch prediction returned an unexpected number of results");
+            }
+            return predictions;
+        });
+    }
+
+    private CompletableFuture<Map<String, Object>> post(String path, Map<String, Object> body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(serviceUrl + path))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        return circuitBreaker.execute(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::readBody))
+            .exceptionally(ex -> {
+                throw upstreamFailure(ex);
+            });
+    }
+
+    private Map<String, Object> readBody(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new UpstreamServiceException("ML service responded with status " + response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), JSON_OBJECT);
+        } catch (IOException ex) {
+            throw new UpstreamServiceException("Could not parse ML service response", ex);
+        }
+    }
+
+    private static UpstreamServiceException upstreamFailure(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof UpstreamServiceException upstream
+            ? upstream : new UpstreamServiceException("ML service request failed", cause);
+    }
+}
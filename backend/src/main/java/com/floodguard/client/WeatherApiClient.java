@@ -0,0 +1,102 @@
+package com.floodguard.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.UpstreamServiceException;
+import com.floodguard.model.WeatherData;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking OpenWeatherMap client. Connections are pooled and kept alive by the
+ * underlying {@link HttpClient}; every request is bounded by the configured read timeout.
+ */
+@Component
+public class WeatherApiClient {
+
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final String apiUrl;
+    private final String apiKey;
+    private final Duration readTimeout;
+
+    public WeatherApiClient(
+            ObjectMapper objectMapper,
+            ThreadPoolTaskExecutor upstreamExecutor,
+            @Qualifier("weatherApiCircuitBreaker") CircuitBreaker circuitBreaker,
+            @Value("${weather.api.url}") String apiUrl,
+            @Value("${weather.api.key}") String apiKey,
+            @Value("${weather.api.connect-timeout:2000}") long connectTimeoutMillis,
+            @Value("${weather.api.timeout:5000}") long readTimeoutMillis) {
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .executor(upstreamExecutor)
+            .build();
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+    }
+
+    public CompletableFuture<WeatherData> fetchCurrentWeather(double latitude, double longitude) {
+        URI uri = URI.create(String.format(Locale.ROOT, "%s?lat=%f&lon=%f&appid=%s&units=metric",
+            apiUrl, latitude, longitude, apiKey));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+
+        return circuitBreaker.execute(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> toWeatherData(latitude, longitude, response)))
+            .exceptionally(ex -> {
+                throw upstreamFailure(ex);
+            });
+    }
+
+    private static UpstreamServiceException upstreamFailure(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof UpstreamServiceException upstream
+            ? upstream : new UpstreamServiceException("Weather API request failed", cause);
+    }
+
+    private WeatherData toWeatherData(double latitude, double longitude, HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new UpstreamServiceException("Weather API responded with status " + response.statusCode());
+        }
+        try {
+            JsonNode root = objectMapper.readTree(response.body());
+            WeatherData weatherData = new WeatherData();
+            weatherData.setLatitude(latitude);
+            weatherData.setLongitude(longitude);
+            weatherData.setTemperature(doubleOrNull(root.path("main").path("temp")));
+            JsonNode humidity = root.path("main").path("humidity");
+            weatherData.setHumidity(humidity.isNumber() ? humidity.intValue() : null);
+            weatherData.setPrecipitation(doubleOrNull(root.path("rain").path("1h")));
+            weatherData.setWindSpeed(doubleOrNull(root.path("wind").path("speed")));
+            weatherData.setTimestamp(LocalDateTime.now());
+            return weatherData;
+        } catch (IOException ex) {
+            throw new UpstreamServiceException("Could not parse weather API response", ex);
+        }
+    }
+
+    private static Double doubleOrNull(JsonNode node) {
+        return node.isNumber() ? node.doubleValue() : null;
+    }
+}
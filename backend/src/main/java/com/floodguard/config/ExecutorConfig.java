@@ -0,0 +1,74 @@
+package com.floodguard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor upstreamExecutor(
+            @Value("${upstream.executor.pool-size:16}") int poolSize,
+            @Value("${upstream.executor.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upstream-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small, bounded pool for image processing. When the queue is full new work is rejected
+     * rather than slowing down uploads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailExecutor(
+            @Value("${thumbnail.executor.pool-size:2}") int poolSize,
+            @Value("${thumbnail.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("thumbnail-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes server-sent events. Sends to slow clients block only this pool, never the
+     * thread that committed the change.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor pushExecutor(
+            @Value("${push.executor.pool-size:4}") int poolSize,
+            @Value("${push.executor.queue-capacity:50000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("push-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Refreshes watched cells ahead of expiry. The pool size bounds how many upstream
+     * weather and model calls the refresh engine has in flight.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor refreshExecutor(
+            @Value("${weather.refresh.pool-size:4}") int poolSize,
+            @Value("${weather.refresh.max-cells-per-run:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("refresh-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.floodguard.config;
+
+import com.floodguard.client.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreaker mlServiceCircuitBreaker(
+            @Value("${ml.service.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${ml.service.circuit.open-duration-ms:30000}") long openDurationMillis,
+            @Value("${ml.service.circuit.half-open-probes:1}") int halfOpenProbes,
+            @Value("${ml.service.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls) {
+        return new CircuitBreaker("ml-service", failureThreshold,
+            Duration.ofMillis(openDurationMillis), halfOpenProbes, maxConcurrentCalls);
+    }
+
+    @Bean
+    public CircuitBreaker weatherApiCircuitBreaker(
+            @Value("${weather.api.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${weather.api.circuit.open-duration-ms:30000}") long openDurationMillis,
+            @Value("${weather.api.circuit.half-open-probes:1}") int halfOpenProbes,
+            @Value("${weather.api.bulkhead.max-concurrent-calls:64}") int maxConcurrentCalls) {
+        return new CircuitBreaker("weather-api", failureThreshold,
+            Duration.ofMillis(openDurationMillis), halfOpenProbes, maxConcurrentCalls);
+    }
+}
@@ -0,0 +1,46 @@
+package com.floodguard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.client.MlServiceClient;
+import com.floodguard.ml.EmbeddedRiskModel;
+import com.floodguard.ml.RandomForest;
+import com.floodguard.ml.RandomForestLoader;
+import com.floodguard.ml.RemoteRiskModel;
+import com.floodguard.ml.RiskModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Slf4j
+@Configuration
+public class RiskModelConfig {
+
+    @Bean
+    public RiskModel riskModel(
+            @Value("${ml.model.mode:remote}") String mode,
+            @Value("${ml.model.path:file:./ml/flood_risk_forest.json}") String modelPath,
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            MlServiceClient mlServiceClient) {
+        if (!"embedded".equalsIgnoreCase(mode)) {
+            log.info("Using remote ML service for flood risk predictions");
+            return new RemoteRiskModel(mlServiceClient);
+        }
+
+        Resource resource = resourceLoader.getResource(modelPath);
+        try (InputStream input = resource.getInputStream()) {
+            RandomForest forest = RandomForestLoader.load(input, objectMapper);
+            log.info("Loaded embedded flood risk model from {} ({} trees, {} nodes)",
+                modelPath, forest.getTreeCount(), forest.getNodeCount());
+            return new EmbeddedRiskModel(forest);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not load embedded flood risk model from " + modelPath, ex);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.floodguard.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Aligns PostgreSQL objects that Hibernate validates while the EntityManagerFactory is built. Nothing
+ * applies the scripts under {@code db/migration}, so a database created before the report id moved to a
+ * pooled sequence still has {@code flood_reports_id_seq} incrementing by one; Hibernate would refuse to
+ * start against it, or hand out ids that overlap rows inserted with a raw {@code nextval}. The indexes
+ * those scripts declare are created here too, after Hibernate has created the tables.
+ */
+@Slf4j
+@Configuration
+public class SchemaPreparationConfig {
+
+    /** Must match {@code allocationSize} on the {@code FloodReport} id generator. */
+    static final int FLOOD_REPORT_ID_INCREMENT = 50;
+
+    // GiST box lookups for verified reports (V3), then keyset feeds on (created_at, id),
+    // per reporter and per status (V4)
+    static final List<String> REPORT_INDEXES = List.of(
+        "CREATE INDEX IF NOT EXISTS idx_flood_reports_verified_location ON flood_reports " +
+            "USING gist (point(longitude, latitude)) WHERE status = 'VERIFIED'",
+        "CREATE INDEX IF NOT EXISTS idx_flood_reports_feed ON flood_reports(created_at DESC, id DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_flood_reports_reporter_feed ON flood_reports(user_id, created_at DESC, id DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_flood_reports_status_feed ON flood_reports(status, created_at DESC, id DESC)");
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaPreparer() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaPreparer");
+    }
+
+    @Bean
+    public InitializingBean schemaPreparer(DataSource dataSource) {
+        return () -> {
+            if (!isPostgres(dataSource)) {
+                return;
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS flood_reports_id_seq INCREMENT BY "
+                + FLOOD_REPORT_ID_INCREMENT);
+            jdbcTemplate.execute("ALTER SEQUENCE flood_reports_id_seq INCREMENT BY " + FLOOD_REPORT_ID_INCREMENT);
+            log.info("Report id sequence increment set to {}", FLOOD_REPORT_ID_INCREMENT);
+        };
+    }
+
+    /**
+     * Indexes Hibernate cannot express on the entities, created once the tables exist. Each
+     * statement mirrors a script under {@code db/migration} and is a no-op when the index is there.
+     */
+    @Bean
+    public InitializingBean reportIndexCreator(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            if (!isPostgres(dataSource)) {
+                return;
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            for (String statement : REPORT_INDEXES) {
+                jdbcTemplate.execute(statement);
+            }
+            log.info("Ensured {} flood report indexes", REPORT_INDEXES.size());
+        };
+    }
+
+    private static boolean isPostgres(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
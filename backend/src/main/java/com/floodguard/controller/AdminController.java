@@ -1,9 +1,21 @@
 package com.floodguard.controller;
 
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.client.CircuitBreaker;
+import com.floodguard.dto.BulkModerationRequest;
+import com.floodguard.dto.BulkModerationResponse;
+import com.floodguard.dto.CursorPage;
+import com.floodguard.dto.ReportCursor;
+import com.floodguard.dto.WatchedRegionRequest;
+import com.floodguard.model.FloodReport;
 import com.floodguard.model.User;
+import com.floodguard.model.WatchedRegion;
+import com.floodguard.service.AuthService;
 import com.floodguard.service.FloodReportService;
+import com.floodguard.service.WatchedRegionService;
 import com.floodguard.dto.ReportResponse;
 import com.floodguard.security.CurrentUser;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +23,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/admin")
 @PreAuthorize("hasRole('ADMIN')")
@@ -19,6 +35,18 @@ public class AdminController {
     @Autowired
     private FloodReportService reportService;
 
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private WeatherCache weatherCache;
+
+    @Autowired
+    private WatchedRegionService watchedRegionService;
+
+    @Autowired
+    private List<CircuitBreaker> circuitBreakers;
+
     @GetMapping("/reports")
     public ResponseEntity<Page<ReportResponse>> getAllReports(Pageable pageable) {
         Page<ReportResponse> reports = reportService.getAllReports(pageable)
@@ -26,6 +54,18 @@ public class AdminController {
         return ResponseEntity.ok(reports);
     }
 
+    @GetMapping("/reports/feed")
+    public ResponseEntity<CursorPage<ReportResponse>> getReportFeed(
+            @RequestParam(required = false) FloodReport.Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        ReportCursor position = ReportCursor.decode(cursor);
+        int pageSize = FloodReportController.clampPageSize(size);
+        return ResponseEntity.ok(CursorPage.ofReports(status == null
+            ? reportService.getReportFeed(position, pageSize)
+            : reportService.getReportFeedByStatus(status, position, pageSize)));
+    }
+
     @PostMapping("/reports/{id}/approve")
     public ResponseEntity<ReportResponse> approveReport(
             @CurrentUser User currentUser,
@@ -39,4 +79,59 @@ public class AdminController {
             @PathVariable Long id) {
         return ResponseEntity.ok(new ReportResponse(reportService.rejectReport(currentUser, id)));
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/reports/bulk/approve")
+    public ResponseEntity<BulkModerationResponse> approveReports(
+            @CurrentUser User currentUser,
+            @RequestBody BulkModerationRequest request) {
+        return ResponseEntity.ok(reportService.moderateReports(currentUser, request, FloodReport.Status.VERIFIED));
+    }
+
+    @PostMapping("/reports/bulk/reject")
+    public ResponseEntity<BulkModerationResponse> rejectReports(
+            @CurrentUser User currentUser,
+            @RequestBody BulkModerationRequest request) {
+        return ResponseEntity.ok(reportService.moderateReports(currentUser, request, FloodReport.Status.REJECTED));
+    }
+
+    @GetMapping("/watched-regions")
+    public ResponseEntity<List<WatchedRegion>> getWatchedRegions() {
+        return ResponseEntity.ok(watchedRegionService.getRegions());
+    }
+
+    @PostMapping("/watched-regions")
+    public ResponseEntity<WatchedRegion> createWatchedRegion(@Valid @RequestBody WatchedRegionRequest request) {
+        return ResponseEntity.ok(watchedRegionService.createRegion(request));
+    }
+
+    @PutMapping("/watched-regions/{id}")
+    public ResponseEntity<WatchedRegion> updateWatchedRegion(
+            @PathVariable Long id,
+            @Valid @RequestBody WatchedRegionRequest request) {
+        return ResponseEntity.ok(watchedRegionService.updateRegion(id, request));
+    }
+
+    @DeleteMapping("/watched-regions/{id}")
+    public ResponseEntity<Void> deleteWatchedRegion(@PathVariable Long id) {
+        watchedRegionService.deleteRegion(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable Long id) {
+        authService.revokeTokens(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/weather-cache/stats")
+    public ResponseEntity<Map<String, Object>> getWeatherCacheStats() {
+        return ResponseEntity.ok(weatherCache.stats());
+    }
+
+    @GetMapping("/dependencies")
+    public ResponseEntity<Map<String, Object>> getDependencyStatus() {
+        Map<String, Object> dependencies = new LinkedHashMap<>();
+        circuitBreakers.forEach(breaker -> dependencies.put(breaker.getName(), breaker.metrics()));
+        return ResponseEntity.ok(dependencies);
+    }
+}
@@ -3,10 +3,13 @@ package com.floodguard.controller;
 import com.floodguard.dto.AuthResponse;
 import com.floodguard.dto.LoginRequest;
 import com.floodguard.dto.RegisterRequest;
+import com.floodguard.model.User;
+import com.floodguard.security.CurrentUser;
 import com.floodguard.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,4 +27,11 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/revoke")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> revokeTokens(@CurrentUser User currentUser) {
+        authService.revokeTokens(currentUser.getId());
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.floodguard.controller;
+
+import com.floodguard.geo.BoundingBox;
+import com.floodguard.push.SubscriptionHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push channel replacing polling of the nearby-reports and flood-risk endpoints. Clients
+ * receive {@code report-verified} and {@code risk-level-changed} events inside their box.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventStreamController {
+
+    private final SubscriptionHub subscriptionHub;
+
+    public EventStreamController(SubscriptionHub subscriptionHub) {
+        this.subscriptionHub = subscriptionHub;
+    }
+
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam Double minLatitude,
+            @RequestParam Double minLongitude,
+            @RequestParam Double maxLatitude,
+            @RequestParam Double maxLongitude) {
+        return subscriptionHub.subscribe(new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+}
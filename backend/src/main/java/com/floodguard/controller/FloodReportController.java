@@ -1,13 +1,27 @@
 package com.floodguard.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.floodguard.exception.BadRequestException;
 import com.floodguard.model.FloodReport;
 import com.floodguard.model.User;
 import com.floodguard.service.FloodReportService;
 import com.floodguard.service.FileStorageService;
+import com.floodguard.dto.BatchReportResponse;
+import com.floodguard.dto.CursorPage;
+import com.floodguard.dto.ReportCursor;
+import com.floodguard.dto.ReportReceipt;
 import com.floodguard.dto.ReportRequest;
 import com.floodguard.dto.ReportResponse;
+import com.floodguard.geo.BoundingBox;
 import com.floodguard.security.CurrentUser;
+import com.floodguard.service.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +31,15 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.MediaType;
 
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -29,22 +51,87 @@ public class FloodReportController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${reports.batch.max-items:1000}")
+    private int maxBatchItems;
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ReportResponse> submitReport(
+    public ResponseEntity<?> submitReport(
             @CurrentUser User currentUser,
             @Valid @ModelAttribute ReportRequest reportRequest,
             @RequestParam(required = false) MultipartFile image) {
         
-        String imageUrl = null;
-        if (image != null && !image.isEmpty()) {
-            imageUrl = fileStorageService.storeFile(image);
-        }
+        String imageUrl = image != null && !image.isEmpty() ? fileStorageService.storeFile(image) : null;
 
-        FloodReport report = reportService.createReport(currentUser, reportRequest, imageUrl);
+        if (reportService.isSurgeMode()) {
+            UUID trackingId = releasingOnFailure(imageUrl,
+                () -> reportService.enqueueReport(currentUser, reportRequest, imageUrl));
+            return ResponseEntity.accepted().body(new ReportReceipt(trackingId, "QUEUED"));
+        }
+        FloodReport report = releasingOnFailure(imageUrl,
+            () -> reportService.createReport(currentUser, reportRequest, imageUrl));
         return ResponseEntity.ok(new ReportResponse(report));
     }
 
+    /**
+     * Creates many reports at once from a JSON array or newline-delimited JSON. Each item
+     * succeeds or fails on its own; an unparsable NDJSON line only rejects that line.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BatchReportResponse> submitReportBatch(
+            @CurrentUser User currentUser,
+            HttpServletRequest request) throws IOException {
+        List<ReportRequest> reports = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+            ? readNdjson(request.getInputStream())
+            : readJsonArray(request.getInputStream());
+        return ResponseEntity.ok(new BatchReportResponse(reportService.createReports(currentUser, reports)));
+    }
+
+    private List<ReportRequest> readJsonArray(InputStream body) throws IOException {
+        List<ReportRequest> reports = new ArrayList<>();
+        try (MappingIterator<ReportRequest> items = objectMapper.readerFor(ReportRequest.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                addBatchItem(reports, items.nextValue());
+            }
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("Malformed report batch: " + ex.getOriginalMessage());
+        } catch (RuntimeJsonMappingException ex) {
+            throw new BadRequestException("Malformed report batch: " + ex.getMessage());
+        }
+        return reports;
+    }
+
+    private List<ReportRequest> readNdjson(InputStream body) throws IOException {
+        List<ReportRequest> reports = new ArrayList<>();
+        ObjectReader reader = objectMapper.readerFor(ReportRequest.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            ReportRequest report;
+            try {
+                report = reader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                report = null;
+            }
+            addBatchItem(reports, report);
+        }
+        return reports;
+    }
+
+    private void addBatchItem(List<ReportRequest> reports, ReportRequest report) {
+        if (reports.size() >= maxBatchItems) {
+            throw new BadRequestException("A batch may contain at most " + maxBatchItems + " reports");
+        }
+        reports.add(report);
+    }
+
     @GetMapping
     public ResponseEntity<Page<ReportResponse>> getAllReports(Pageable pageable) {
         Page<ReportResponse> reports = reportService.getAllReports(pageable)
@@ -62,16 +149,47 @@ public class FloodReportController {
         return ResponseEntity.ok(reports);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<ReportResponse>> getReportFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(CursorPage.ofReports(
+            reportService.getReportFeed(ReportCursor.decode(cursor), clampPageSize(size))));
+    }
+
+    @GetMapping("/my/feed")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<ReportResponse>> getMyReportFeed(
+            @CurrentUser User currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(CursorPage.ofReports(
+            reportService.getUserReportFeed(currentUser, ReportCursor.decode(cursor), clampPageSize(size))));
+    }
+
     @GetMapping("/nearby")
     public ResponseEntity<List<ReportResponse>> getNearbyReports(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "5000") Double radius) {
-        List<ReportResponse> reports = reportService.getNearbyReports(latitude, longitude, radius)
-            .stream()
-            .map(ReportResponse::new)
-            .toList();
-        return ResponseEntity.ok(reports);
+            @RequestParam(defaultValue = "5000") Double radius,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(reportService.getNearbyReports(latitude, longitude, radius, clampLimit(limit)));
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<ReportResponse>> getReportsWithin(
+            @RequestParam Double minLatitude,
+            @RequestParam Double minLongitude,
+            @RequestParam Double maxLatitude,
+            @RequestParam Double maxLongitude,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(reportService.getReportsWithin(
+            boundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude), clampLimit(limit)));
+    }
+
+    @GetMapping("/tracking/{trackingId}")
+    public ResponseEntity<ReportResponse> getReportByTrackingId(@PathVariable UUID trackingId) {
+        return ResponseEntity.ok(new ReportResponse(reportService.getReportByTrackingId(trackingId)));
     }
 
     @GetMapping("/{id}")
@@ -88,12 +206,29 @@ public class FloodReportController {
             @Valid @ModelAttribute ReportRequest reportRequest,
             @RequestParam(required = false) MultipartFile image) {
         
-        String imageUrl = null;
-        if (image != null && !image.isEmpty()) {
-            imageUrl = fileStorageService.storeFile(image);
-        }
+        String imageUrl = image != null && !image.isEmpty() ? fileStorageService.storeFile(image) : null;
 
-        FloodReport report = reportService.updateReport(currentUser, id, reportRequest, imageUrl);
+        FloodReport report = releasingOnFailure(imageUrl,
+            () -> reportService.updateReport(currentUser, id, reportRequest, imageUrl));
+        return ResponseEntity.ok(new ReportResponse(report));
+    }
+
+    /**
+     * Attaches an image sent as the raw request body, e.g. {@code Content-Type: image/jpeg}.
+     * The body is streamed to storage without multipart buffering.
+     */
+    @PostMapping(value = "/{id}/image", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ReportResponse> uploadImage(
+            @CurrentUser User currentUser,
+            @PathVariable Long id,
+            HttpServletRequest request) throws IOException {
+        // Check ownership before accepting any bytes
+        reportService.getOwnedReport(currentUser, id);
+        StoredFile stored = fileStorageService.storeStream(
+            request.getInputStream(), request.getContentType(), request.getContentLengthLong());
+        FloodReport report = releasingOnFailure(stored.getFileName(),
+            () -> reportService.attachImage(currentUser, id, stored.getFileName()));
         return ResponseEntity.ok(new ReportResponse(report));
     }
 
@@ -105,4 +240,42 @@ public class FloodReportController {
         reportService.deleteReport(currentUser, id);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Runs a service call that takes ownership of a just-stored image. Storing already took a
+     * reference to the blob, so when the call fails (not the owner, validation, a full queue)
+     * the reference is dropped again; otherwise the blob could never be deleted.
+     */
+    private <T> T releasingOnFailure(String fileName, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            if (fileName != null) {
+                try {
+                    fileStorageService.deleteFile(fileName);
+                } catch (RuntimeException releaseFailure) {
+                    ex.addSuppressed(releaseFailure);
+                }
+            }
+            throw ex;
+        }
+    }
+
+    static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, 1000));
+    }
+
+    static BoundingBox boundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        if (!(minLatitude >= -90 && maxLatitude <= 90 && minLatitude <= maxLatitude)) {
+            throw new BadRequestException("Latitudes must lie in [-90, 90] with min <= max");
+        }
+        if (!(minLongitude >= -180 && maxLongitude <= 180 && minLongitude <= maxLongitude)) {
+            throw new BadRequestException("Longitudes must lie in [-180, 180] with min <= max");
+        }
+        return new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+}
\ No newline at end of file
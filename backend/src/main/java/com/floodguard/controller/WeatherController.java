@@ -1,12 +1,25 @@
 package com.floodguard.controller;
 
+import com.floodguard.dto.FloodRiskBatchRequest;
+import com.floodguard.dto.PrecipitationTotals;
 import com.floodguard.model.WeatherData;
 import com.floodguard.model.FloodRisk;
+import com.floodguard.service.RiskTile;
+import com.floodguard.service.RiskTileService;
+import com.floodguard.service.WeatherObservationService;
 import com.floodguard.service.WeatherService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/weather")
 public class WeatherController {
@@ -14,19 +27,72 @@ public class WeatherController {
     @Autowired
     private WeatherService weatherService;
 
+    @Autowired
+    private RiskTileService riskTileService;
+
+    @Autowired
+    private WeatherObservationService observationService;
+
     @GetMapping("/current")
-    public ResponseEntity<WeatherData> getCurrentWeather(
+    public CompletableFuture<ResponseEntity<WeatherData>> getCurrentWeather(
             @RequestParam Double latitude,
             @RequestParam Double longitude) {
-        WeatherData weatherData = weatherService.getWeatherData(latitude, longitude);
-        return ResponseEntity.ok(weatherData);
+        return weatherService.getWeatherData(latitude, longitude)
+            .thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/flood-risk")
-    public ResponseEntity<FloodRisk> getFloodRisk(
+    public CompletableFuture<ResponseEntity<FloodRisk>> getFloodRisk(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude) {
+        return weatherService.calculateFloodRisk(latitude, longitude)
+            .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<List<WeatherData>> getWeatherHistory(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(observationService.getHistory(latitude, longitude, Math.max(1, Math.min(hours, 720))));
+    }
+
+    @GetMapping("/precipitation")
+    public ResponseEntity<PrecipitationTotals> getPrecipitationTotals(
             @RequestParam Double latitude,
             @RequestParam Double longitude) {
-        FloodRisk floodRisk = weatherService.calculateFloodRisk(latitude, longitude);
-        return ResponseEntity.ok(floodRisk);
+        return ResponseEntity.ok(observationService.getPrecipitationTotals(latitude, longitude));
+    }
+
+    /**
+     * Flood risk heatmap for a slippy-map tile as a packed byte grid; see {@link RiskTile}.
+     */
+    @GetMapping("/risk-tiles/{z}/{x}/{y}")
+    public ResponseEntity<byte[]> getRiskTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        RiskTile tile = riskTileService.getTile(z, x, y);
+        CacheControl cacheControl = CacheControl.maxAge(riskTileService.getTtl()).cachePublic();
+        if (ifNoneMatch != null && List.of(ifNoneMatch.split("\\s*,\\s*")).contains(tile.getEntityTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(tile.getEntityTag())
+                .cacheControl(cacheControl)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(tile.getEntityTag())
+            .cacheControl(cacheControl)
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header("X-Tile-Size", String.valueOf(tile.getSize()))
+            .body(tile.getScores());
+    }
+
+    @PostMapping("/flood-risk/batch")
+    public CompletableFuture<ResponseEntity<List<FloodRisk>>> getFloodRiskBatch(
+            @Valid @RequestBody FloodRiskBatchRequest request) {
+        return weatherService.calculateFloodRiskBatch(request.getPoints())
+            .thenApply(ResponseEntity::ok);
     }
-} 
\ No newline at end of file
+}
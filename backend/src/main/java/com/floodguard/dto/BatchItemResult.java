@@ -0,0 +1,24 @@
+package com.floodguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one item of a batch submission; {@code index} is its position in the request.
+ */
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private String status;
+    private Long id;
+    private String error;
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, "CREATED", id, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, "REJECTED", null, error);
+    }
+}
@@ -0,0 +1,18 @@
+package com.floodguard.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchReportResponse {
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> results;
+
+    public BatchReportResponse(List<BatchItemResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(result -> result.getId() != null).count();
+        this.rejected = results.size() - created;
+    }
+}
@@ -0,0 +1,33 @@
+package com.floodguard.dto;
+
+import com.floodguard.model.FloodReport;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects reports for bulk moderation, either by explicit ids or by filter. Filter fields
+ * that are left out do not restrict the selection.
+ */
+@Data
+public class BulkModerationRequest {
+    private List<Long> ids;
+
+    private FloodReport.Status status;
+    private Double minLatitude;
+    private Double minLongitude;
+    private Double maxLatitude;
+    private Double maxLongitude;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return status != null || minLatitude != null || minLongitude != null || maxLatitude != null
+            || maxLongitude != null || createdFrom != null || createdTo != null;
+    }
+}
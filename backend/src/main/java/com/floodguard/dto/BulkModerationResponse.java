@@ -0,0 +1,14 @@
+package com.floodguard.dto;
+
+import com.floodguard.model.FloodReport;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkModerationResponse {
+    private FloodReport.Status status;
+    private int affected;
+    // True when a filter matched more reports than one call moderates; repeat the call for the rest
+    private boolean limitReached;
+}
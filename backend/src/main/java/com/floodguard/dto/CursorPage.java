@@ -0,0 +1,23 @@
+package com.floodguard.dto;
+
+import com.floodguard.model.FloodReport;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static CursorPage<ReportResponse> ofReports(Slice<FloodReport> slice) {
+        List<FloodReport> reports = slice.getContent();
+        String nextCursor = slice.hasNext() && !reports.isEmpty()
+            ? ReportCursor.after(reports.get(reports.size() - 1)).encode() : null;
+        return new CursorPage<>(reports.stream().map(ReportResponse::new).toList(), nextCursor, slice.hasNext());
+    }
+}
\ No newline at end of file
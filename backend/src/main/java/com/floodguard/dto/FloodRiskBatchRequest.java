@@ -0,0 +1,15 @@
+package com.floodguard.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FloodRiskBatchRequest {
+    @NotEmpty(message = "At least one point is required")
+    @Size(max = 5000, message = "At most 5000 points are allowed per request")
+    private List<@Valid GeoPoint> points;
+}
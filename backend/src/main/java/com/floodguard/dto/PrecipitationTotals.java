@@ -0,0 +1,18 @@
+package com.floodguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Accumulated precipitation (mm) for a cell over trailing windows. {@code observedHours} is
+ * how many of the last 72 hours had at least one observation; totals only cover those hours.
+ */
+@Data
+@AllArgsConstructor
+public class PrecipitationTotals {
+    private double last1h;
+    private double last24h;
+    private double last72h;
+    private double avgHourly72h;
+    private int observedHours;
+}
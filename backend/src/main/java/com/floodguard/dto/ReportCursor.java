@@ -0,0 +1,45 @@
+package com.floodguard.dto;
+
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.model.FloodReport;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a report feed ordered by {@code (createdAt, id)} descending. Clients only
+ * ever see the opaque, URL-safe encoded form.
+ */
+@Value
+public class ReportCursor {
+    // Sorts after every stored report, so the first page uses the same keyset query as the rest
+    public static final ReportCursor START = new ReportCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    LocalDateTime createdAt;
+    Long id;
+
+    public static ReportCursor after(FloodReport report) {
+        return new ReportCursor(report.getCreatedAt(), report.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReportCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ReportCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.floodguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class ReportReceipt {
+    private UUID trackingId;
+    private String status;
+}
@@ -1,6 +1,7 @@
 package com.floodguard.dto;
 
 import com.floodguard.model.FloodReport;
+import com.floodguard.service.ImageVariant;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,8 @@ public class ReportResponse {
     private Double latitude;
     private Double longitude;
     private String imageUrl;
+    private String thumbnailUrl;
+    private String previewUrl;
     private FloodReport.Severity severity;
     private FloodReport.Status status;
     private String reporterUsername;
@@ -28,6 +31,11 @@ public class ReportResponse {
         this.latitude = report.getLatitude();
         this.longitude = report.getLongitude();
         this.imageUrl = report.getImageUrl();
+        if (report.getImageUrl() != null) {
+            // Generated in the background shortly after upload
+            this.thumbnailUrl = ImageVariant.THUMBNAIL.fileName(report.getImageUrl());
+            this.previewUrl = ImageVariant.PREVIEW.fileName(report.getImageUrl());
+        }
         this.severity = report.getSeverity();
         this.status = report.getStatus();
         this.reporterUsername = report.getReporter().getUsername();
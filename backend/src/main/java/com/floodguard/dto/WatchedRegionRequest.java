@@ -0,0 +1,36 @@
+package com.floodguard.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class WatchedRegionRequest {
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @NotNull(message = "Minimum latitude is required")
+    @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double minLatitude;
+
+    @NotNull(message = "Minimum longitude is required")
+    @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double minLongitude;
+
+    @NotNull(message = "Maximum latitude is required")
+    @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double maxLatitude;
+
+    @NotNull(message = "Maximum longitude is required")
+    @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double maxLongitude;
+
+    @NotNull(message = "Resolution is required")
+    @Positive
+    private Double resolutionDegrees;
+
+    private boolean enabled = true;
+}
@@ -0,0 +1,38 @@
+package com.floodguard.geo;
+
+import lombok.Value;
+
+@Value
+public class BoundingBox {
+    double minLatitude;
+    double minLongitude;
+    double maxLatitude;
+    double maxLongitude;
+
+    /**
+     * Smallest box that contains every point within {@code radiusMeters} of the center.
+     * Boxes that would cross a pole or the antimeridian span every longitude instead of wrapping.
+     */
+    public static BoundingBox around(double latitude, double longitude, double radiusMeters) {
+        double latDelta = Math.toDegrees(radiusMeters / GeoDistance.EARTH_RADIUS_METERS);
+        double minLat = Math.max(-90.0, latitude - latDelta);
+        double maxLat = Math.min(90.0, latitude + latDelta);
+
+        if (minLat <= -90.0 || maxLat >= 90.0) {
+            return new BoundingBox(minLat, -180.0, maxLat, 180.0);
+        }
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lonDelta = latDelta / cosLat;
+        double minLon = longitude - lonDelta;
+        double maxLon = longitude + lonDelta;
+        if (minLon < -180.0 || maxLon > 180.0) {
+            return new BoundingBox(minLat, -180.0, maxLat, 180.0);
+        }
+        return new BoundingBox(minLat, minLon, maxLat, maxLon);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLatitude && latitude <= maxLatitude
+            && longitude >= minLongitude && longitude <= maxLongitude;
+    }
+}
@@ -0,0 +1,40 @@
+package com.floodguard.geo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snaps coordinates onto a fixed lat/lon grid so that nearby points share one cell.
+ * The default cell size of 0.01 degrees is roughly 1.1 km north-south.
+ */
+@Component
+public class GeoGrid {
+
+    private final double cellSizeDegrees;
+
+    public GeoGrid(@Value("${weather.cache.cell-size-degrees:0.01}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 1) {
+            throw new IllegalArgumentException("Cell size must be in (0, 1] degrees: " + cellSizeDegrees);
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    public double getCellSizeDegrees() {
+        return cellSizeDegrees;
+    }
+
+    public GridCell cellOf(double latitude, double longitude) {
+        return new GridCell(
+            (long) Math.floor(latitude / cellSizeDegrees),
+            (long) Math.floor(longitude / cellSizeDegrees)
+        );
+    }
+
+    public double centerLatitude(GridCell cell) {
+        return (cell.getRow() + 0.5) * cellSizeDegrees;
+    }
+
+    public double centerLongitude(GridCell cell) {
+        return (cell.getCol() + 0.5) * cellSizeDegrees;
+    }
+}
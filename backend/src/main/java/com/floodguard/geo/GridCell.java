@@ -0,0 +1,17 @@
+package com.floodguard.geo;
+
+import lombok.Value;
+
+/**
+ * A cell of the {@link GeoGrid}, identified by its row (latitude) and column (longitude) index.
+ */
+@Value
+public class GridCell {
+    long row;
+    long col;
+
+    @Override
+    public String toString() {
+        return row + ":" + col;
+    }
+}
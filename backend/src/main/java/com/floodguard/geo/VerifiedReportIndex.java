@@ -0,0 +1,277 @@
+package com.floodguard.geo;
+
+import com.floodguard.dto.ReportResponse;
+import com.floodguard.model.FloodReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of verified flood reports. Reports are bucketed by a fixed
+ * lat/lon grid; each bucket keeps ids and coordinates in primitive arrays so radius and
+ * bounding-box scans never touch the database or box a coordinate.
+ */
+@Component
+public class VerifiedReportIndex {
+
+    private final double cellSizeDegrees;
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    private final Map<Long, ReportResponse> summaries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public VerifiedReportIndex(@Value("${reports.index.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 10) {
+            throw new IllegalArgumentException("Cell size must be in (0, 10] degrees: " + cellSizeDegrees);
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return summaries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index. Reports that are not verified are ignored.
+     */
+    public void load(Collection<ReportResponse> reports) {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            summaries.clear();
+            for (ReportResponse report : reports) {
+                if (report.getStatus() == FloodReport.Status.VERIFIED) {
+                    insert(report);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or refreshes a report. A report that is no longer verified is removed.
+     */
+    public void put(ReportResponse report) {
+        lock.writeLock().lock();
+        try {
+            delete(report.getId());
+            if (report.getStatus() == FloodReport.Status.VERIFIED) {
+                insert(report);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<ReportResponse> reports) {
+        lock.writeLock().lock();
+        try {
+            for (ReportResponse report : reports) {
+                delete(report.getId());
+                if (report.getStatus() == FloodReport.Status.VERIFIED) {
+                    insert(report);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::delete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verified reports within {@code radiusMeters} of the point, nearest first.
+     */
+    public List<ReportResponse> nearby(double latitude, double longitude, double radiusMeters, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        BoundingBox box = BoundingBox.around(latitude, longitude, radiusMeters);
+        long[] bestIds = new long[limit];
+        double[] bestDistances = new double[limit];
+        int count = 0;
+
+        lock.readLock().lock();
+        try {
+            for (Bucket bucket : bucketsIn(box)) {
+                for (int i = 0; i < bucket.size; i++) {
+                    if (!box.contains(bucket.latitudes[i], bucket.longitudes[i])) {
+                        continue;
+                    }
+                    double distance = GeoDistance.haversineMeters(
+                        latitude, longitude, bucket.latitudes[i], bucket.longitudes[i]);
+                    if (distance > radiusMeters || (count == limit && distance >= bestDistances[count - 1])) {
+                        continue;
+                    }
+                    // Insertion into the bounded, distance-sorted result arrays
+                    int position = count < limit ? count++ : count - 1;
+                    while (position > 0 && bestDistances[position - 1] > distance) {
+                        bestDistances[position] = bestDistances[position - 1];
+                        bestIds[position] = bestIds[position - 1];
+                        position--;
+                    }
+                    bestDistances[position] = distance;
+                    bestIds[position] = bucket.ids[i];
+                }
+            }
+            List<ReportResponse> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(summaries.get(bestIds[i]));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verified reports inside the box, in no particular order.
+     */
+    public List<ReportResponse> within(BoundingBox box, int limit) {
+        List<ReportResponse> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Bucket bucket : bucketsIn(box)) {
+                for (int i = 0; i < bucket.size && results.size() < limit; i++) {
+                    if (box.contains(bucket.latitudes[i], bucket.longitudes[i])) {
+                        results.add(summaries.get(bucket.ids[i]));
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Bucket> bucketsIn(BoundingBox box) {
+        // Clamped to the globe so a hostile box cannot overflow the row and column range
+        long minRow = row(clamp(box.getMinLatitude(), 90.0));
+        long maxRow = row(clamp(box.getMaxLatitude(), 90.0));
+        long minCol = col(clamp(box.getMinLongitude(), 180.0));
+        long maxCol = col(clamp(box.getMaxLongitude(), 180.0));
+        if (minRow > maxRow || minCol > maxCol) {
+            return List.of();
+        }
+
+        // Scanning every occupied bucket is cheaper than probing a very large empty range
+        if ((double) (maxRow - minRow + 1) * (maxCol - minCol + 1) > buckets.size()) {
+            return new ArrayList<>(buckets.values());
+        }
+        List<Bucket> result = new ArrayList<>();
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                Bucket bucket = buckets.get(key(row, col));
+                if (bucket != null) {
+                    result.add(bucket);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void insert(ReportResponse report) {
+        summaries.put(report.getId(), report);
+        buckets.computeIfAbsent(keyOf(report.getLatitude(), report.getLongitude()), key -> new Bucket())
+            .add(report.getId(), report.getLatitude(), report.getLongitude());
+    }
+
+    private void delete(Long id) {
+        ReportResponse existing = summaries.remove(id);
+        if (existing == null) {
+            return;
+        }
+        long key = keyOf(existing.getLatitude(), existing.getLongitude());
+        Bucket bucket = buckets.get(key);
+        if (bucket != null && bucket.remove(id) && bucket.size == 0) {
+            buckets.remove(key);
+        }
+    }
+
+    private long keyOf(double latitude, double longitude) {
+        return key(row(latitude), col(longitude));
+    }
+
+    private static double clamp(double value, double bound) {
+        return Math.max(-bound, Math.min(bound, value));
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellSizeDegrees);
+    }
+
+    private long col(double longitude) {
+        return (long) Math.floor(longitude / cellSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) ^ (col & 0xFFFFFFFFL);
+    }
+
+    private static final class Bucket {
+        private long[] ids = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        void add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    // Swap the last entry into the hole
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
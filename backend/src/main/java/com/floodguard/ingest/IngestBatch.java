@@ -0,0 +1,19 @@
+package com.floodguard.ingest;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Records read from the ingest queue, together with the log range they came from.
+ */
+@Value
+public class IngestBatch {
+    List<QueuedReport> reports;
+    long startOffset;
+    long endOffset;
+
+    public boolean isEmpty() {
+        return endOffset == startOffset;
+    }
+}
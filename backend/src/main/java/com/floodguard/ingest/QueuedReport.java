@@ -0,0 +1,27 @@
+package com.floodguard.ingest;
+
+import com.floodguard.model.FloodReport;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A validated report submission waiting in the ingest queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueuedReport {
+    private UUID trackingId;
+    private Long reporterId;
+    private String title;
+    private String description;
+    private Double latitude;
+    private Double longitude;
+    private FloodReport.Severity severity;
+    private String imageUrl;
+    private LocalDateTime submittedAt;
+}
@@ -0,0 +1,192 @@
+package com.floodguard.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.UpstreamServiceException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, memory-mapped append-only log of report submissions.
+ * <p>
+ * Layout: a 16 byte header holding the write offset and the drained (committed) offset,
+ * followed by records of {@code [length:int][crc32:int][json]}. Every append is forced to disk
+ * before it is acknowledged. Once the drainer has caught up, both offsets rewind to the start,
+ * so the file is reused instead of growing. On startup, records past the last intact one
+ * (a torn write) are discarded.
+ */
+@Slf4j
+@Component
+public class ReportIngestQueue {
+
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final long capacity;
+    private final boolean surgeMode;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long writeOffset;
+    private long readOffset;
+
+    public ReportIngestQueue(
+            ObjectMapper objectMapper,
+            @Value("${reports.ingest.queue-path:./data/report-ingest.log}") String path,
+            @Value("${reports.ingest.queue-capacity-bytes:67108864}") long capacity,
+            @Value("${reports.ingest.surge-mode:false}") boolean surgeMode) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path).toAbsolutePath().normalize();
+        this.capacity = capacity;
+        this.surgeMode = surgeMode;
+    }
+
+    /**
+     * Opens the log when surge mode is on, or when a previous run left one behind to drain.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!surgeMode && !Files.exists(path)) {
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, channel.size()));
+
+        long storedWrite = buffer.getLong(0);
+        long storedRead = buffer.getLong(8);
+        if (storedWrite < HEADER_SIZE || storedWrite > buffer.capacity()
+                || storedRead < HEADER_SIZE || storedRead > storedWrite) {
+            storedWrite = HEADER_SIZE;
+            storedRead = HEADER_SIZE;
+        }
+        readOffset = storedRead;
+        writeOffset = recover(storedRead, storedWrite);
+        writeHeader();
+        if (writeOffset > readOffset) {
+            log.info("Report ingest queue has {} bytes pending from a previous run", writeOffset - readOffset);
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return buffer != null;
+    }
+
+    public synchronized long pendingBytes() {
+        return buffer == null ? 0 : writeOffset - readOffset;
+    }
+
+    public void append(QueuedReport report) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(report);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        synchronized (this) {
+            if (buffer == null) {
+                throw new IllegalStateException("Report ingest queue is not open");
+            }
+            int recordSize = RECORD_HEADER_SIZE + payload.length;
+            if (writeOffset + recordSize > buffer.capacity()) {
+                throw new UpstreamServiceException("Report ingest queue is full");
+            }
+            int offset = (int) writeOffset;
+            buffer.putInt(offset, payload.length);
+            buffer.putInt(offset + 4, crc(payload));
+            buffer.put(offset + RECORD_HEADER_SIZE, payload);
+            buffer.force(offset, recordSize);
+            writeOffset += recordSize;
+            writeHeader();
+        }
+    }
+
+    /**
+     * Up to {@code maxRecords} of the oldest undrained records. They stay in the log until
+     * {@link #commit(long)} is called with the returned end offset.
+     */
+    public synchronized IngestBatch peek(int maxRecords) {
+        List<QueuedReport> reports = new ArrayList<>();
+        long offset = readOffset;
+        while (buffer != null && offset < writeOffset && reports.size() < maxRecords) {
+            int length = buffer.getInt((int) offset);
+            byte[] payload = new byte[length];
+            buffer.get((int) offset + RECORD_HEADER_SIZE, payload);
+            offset += RECORD_HEADER_SIZE + length;
+            try {
+                reports.add(objectMapper.readValue(payload, QueuedReport.class));
+            } catch (IOException ex) {
+                log.error("Skipping unreadable report ingest record at offset {}", offset, ex);
+            }
+        }
+        return new IngestBatch(reports, readOffset, offset);
+    }
+
+    public synchronized void commit(long endOffset) {
+        readOffset = endOffset;
+        if (readOffset >= writeOffset) {
+            // Fully drained: rewind and reuse the file from the start
+            readOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+        }
+        writeHeader();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private long recover(long from, long to) {
+        long offset = from;
+        while (offset + RECORD_HEADER_SIZE <= to) {
+            int length = buffer.getInt((int) offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > to) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get((int) offset + RECORD_HEADER_SIZE, payload);
+            if (crc(payload) != buffer.getInt((int) offset + 4)) {
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        if (offset < to) {
+            log.warn("Discarding {} bytes of torn records from the report ingest queue", to - offset);
+        }
+        return offset;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(0, writeOffset);
+        buffer.putLong(8, readOffset);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,153 @@
+package com.floodguard.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the ingest queue into {@code flood_reports} with JDBC batch inserts. Records are
+ * removed from the queue only after their batch has committed; a replayed batch is harmless
+ * because inserts are idempotent on {@code tracking_id}.
+ * <p>
+ * When a batch fails while the database is reachable, its records are retried one by one and
+ * any record that still fails (a deleted reporter, a missing field) is appended to the
+ * dead-letter file, so one bad record cannot hold up the queue.
+ */
+@Slf4j
+@Component
+public class SurgeReportWriter {
+
+    // Each nextval reserves a whole pooled block (the sequence increments by the entity's allocationSize),
+    // so these ids never overlap the ones Hibernate hands out from its own blocks.
+    private static final String INSERT_SQL =
+        "INSERT INTO flood_reports (id, tracking_id, user_id, title, description, latitude, longitude, " +
+        "image_url, severity, status, created_at, updated_at) " +
+        "VALUES (nextval('flood_reports_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, ?) " +
+        "ON CONFLICT (tracking_id) DO NOTHING";
+
+    private final ReportIngestQueue queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Path deadLetterPath;
+
+    public SurgeReportWriter(ReportIngestQueue queue, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                             @Value("${reports.ingest.batch-size:500}") int batchSize,
+                             @Value("${reports.ingest.dead-letter-path:./data/report-ingest-dead-letter.jsonl}") String deadLetterPath) {
+        this.queue = queue;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.deadLetterPath = Paths.get(deadLetterPath).toAbsolutePath().normalize();
+    }
+
+    @Scheduled(fixedDelayString = "${reports.ingest.drain-interval-ms:500}")
+    public void drain() {
+        if (!queue.isOpen()) {
+            return;
+        }
+        try {
+            IngestBatch batch;
+            while (!(batch = queue.peek(batchSize)).isEmpty()) {
+                try {
+                    write(batch.getReports());
+                } catch (RuntimeException ex) {
+                    if (isUnavailable(ex)) {
+                        throw ex;
+                    }
+                    writeIndividually(batch.getReports());
+                }
+                queue.commit(batch.getEndOffset());
+            }
+        } catch (RuntimeException ex) {
+            // Leave the records queued; the next run retries them
+            log.warn("Could not drain report ingest queue: {}", ex.getMessage());
+        }
+    }
+
+    private void writeIndividually(List<QueuedReport> reports) {
+        for (QueuedReport report : reports) {
+            try {
+                write(List.of(report));
+            } catch (RuntimeException ex) {
+                if (isUnavailable(ex)) {
+                    throw ex;
+                }
+                deadLetter(report, ex);
+            }
+        }
+    }
+
+    /**
+     * Failures that say nothing about the record itself: the database is down or busy.
+     */
+    private static boolean isUnavailable(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+            || ex instanceof RecoverableDataAccessException
+            || ex instanceof DataAccessResourceFailureException;
+    }
+
+    private void deadLetter(QueuedReport report, RuntimeException cause) {
+        log.error("Moving report {} to the dead-letter file: {}", report.getTrackingId(), cause.toString());
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("report", report);
+        entry.put("error", cause.toString());
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(entry);
+            Files.createDirectories(deadLetterPath.getParent());
+            // Synced before the record is committed out of the queue
+            Files.write(deadLetterPath, concat(line, (byte) '\n'), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write report ingest dead-letter file", ex);
+        }
+    }
+
+    private static byte[] concat(byte[] bytes, byte last) {
+        byte[] result = Arrays.copyOf(bytes, bytes.length + 1);
+        result[bytes.length] = last;
+        return result;
+    }
+
+    void write(List<QueuedReport> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, reports, reports.size(), (ps, report) -> {
+            Timestamp submittedAt = Timestamp.valueOf(report.getSubmittedAt());
+            ps.setObject(1, report.getTrackingId());
+            ps.setLong(2, report.getReporterId());
+            ps.setString(3, report.getTitle());
+            ps.setString(4, report.getDescription());
+            ps.setDouble(5, report.getLatitude());
+            ps.setDouble(6, report.getLongitude());
+            if (report.getImageUrl() != null) {
+                ps.setString(7, report.getImageUrl());
+            } else {
+                ps.setNull(7, Types.VARCHAR);
+            }
+            ps.setString(8, report.getSeverity().name());
+            ps.setTimestamp(9, submittedAt);
+            ps.setTimestamp(10, submittedAt);
+        });
+    }
+}
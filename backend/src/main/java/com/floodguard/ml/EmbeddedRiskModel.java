@@ -0,0 +1,85 @@
+package com.floodguard.ml;
+
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link RiskModel} that evaluates an exported {@link RandomForest} inside the JVM.
+ * Risk levels and factors follow the ML service's {@code get_risk_level} and
+ * {@code get_risk_factors}.
+ */
+public class EmbeddedRiskModel implements RiskModel {
+
+    private final RandomForest forest;
+    private final ModelFeature[] features;
+    // One feature vector per scoring thread, reused for every prediction
+    private final ThreadLocal<double[]> featureBuffer;
+
+    public EmbeddedRiskModel(RandomForest forest) {
+        this.forest = forest;
+        String[] names = forest.getFeatureNames();
+        this.features = new ModelFeature[names.length];
+        for (int i = 0; i < names.length; i++) {
+            features[i] = ModelFeature.named(names[i]);
+        }
+        this.featureBuffer = ThreadLocal.withInitial(() -> new double[names.length]);
+    }
+
+    @Override
+    public CompletableFuture<FloodRisk> predict(WeatherData weatherData) {
+        return CompletableFuture.completedFuture(score(weatherData));
+    }
+
+    @Override
+    public CompletableFuture<List<FloodRisk>> predictBatch(List<WeatherData> weatherData) {
+        List<FloodRisk> risks = new ArrayList<>(weatherData.size());
+        for (WeatherData data : weatherData) {
+            risks.add(score(data));
+        }
+        return CompletableFuture.completedFuture(risks);
+    }
+
+    private FloodRisk score(WeatherData weatherData) {
+        double[] values = featureBuffer.get();
+        for (int i = 0; i < features.length; i++) {
+            values[i] = features[i].valueOf(weatherData);
+        }
+        double riskScore = Math.min(Math.max(forest.predict(values), 0), 100);
+
+        FloodRisk floodRisk = new FloodRisk();
+        floodRisk.setLatitude(weatherData.getLatitude());
+        floodRisk.setLongitude(weatherData.getLongitude());
+        floodRisk.setRiskScore(riskScore);
+        floodRisk.setRiskLevel(RiskLevel.of(riskScore).name());
+        floodRisk.setFactors(riskFactors(weatherData, riskScore));
+        floodRisk.setTimestamp(LocalDateTime.now());
+        return floodRisk;
+    }
+
+    private static List<String> riskFactors(WeatherData weatherData, double riskScore) {
+        List<String> factors = new ArrayList<>();
+        if (weatherData.getPrecipitation() != null && weatherData.getPrecipitation() > 10) {
+            factors.add("Heavy precipitation");
+        }
+        if (weatherData.getHumidity() != null && weatherData.getHumidity() > 80) {
+            factors.add("High humidity");
+        }
+        if (weatherData.getWindSpeed() != null && weatherData.getWindSpeed() > 20) {
+            factors.add("Strong winds");
+        }
+        if (weatherData.getTemperature() != null && Math.abs(weatherData.getTemperature()) < 5) {
+            factors.add("Near-freezing temperatures");
+        }
+        if (riskScore >= 80) {
+            factors.add("Extreme flood risk conditions");
+        } else if (riskScore >= 60) {
+            factors.add("High flood risk conditions");
+        }
+        return factors;
+    }
+}
@@ -0,0 +1,87 @@
+package com.floodguard.ml;
+
+/**
+ * Rule-based flood risk score used when the risk model is unavailable. Works on primitive
+ * doubles (NaN for a missing value), reports factors as a {@link RiskFactor} bitmask and
+ * allocates nothing, so it stays cheap when it is needed most: under load.
+ */
+public final class HeuristicRiskScorer {
+
+    private HeuristicRiskScorer() {
+    }
+
+    /**
+     * Risk score from 0 to 100.
+     */
+    public static double score(double temperature, double humidity, double precipitation, double windSpeed,
+                               double precipitation3h, double precipitation24h, double precipitation72h) {
+        double score = 0.0;
+
+        // Precipitation factor (0-40 points): the higher of the current hourly rate and the
+        // accumulated rainfall, which saturates the ground over one to three days. A downpour
+        // that has only just started scores as high as it would without any history.
+        double precipitationScore = Double.isNaN(precipitation) ? 0.0 : Math.min(precipitation * 4, 40);
+        if (!Double.isNaN(precipitation24h)) {
+            double accumulated = Math.min(orZero(precipitation3h) * 1.5, 15)
+                + Math.min(precipitation24h / 2, 15)
+                + Math.min(orZero(precipitation72h) / 10, 10);
+            precipitationScore = Math.max(precipitationScore, accumulated);
+        }
+        score += precipitationScore;
+
+        // Humidity factor (0-20 points)
+        if (!Double.isNaN(humidity)) {
+            score += (humidity / 100.0) * 20;
+        }
+
+        // Wind speed factor (0-20 points)
+        if (!Double.isNaN(windSpeed)) {
+            score += Math.min(windSpeed / 2, 20);
+        }
+
+        // Temperature factor (0-20 points), highest near freezing (0°C)
+        if (!Double.isNaN(temperature)) {
+            score += Math.max(0, 20 - (Math.abs(temperature) * 2));
+        }
+
+        return Math.min(score, 100);
+    }
+
+    /**
+     * {@link RiskFactor} bits for the conditions present. Comparisons with NaN are false, so
+     * missing values never raise a factor.
+     */
+    public static int factors(double temperature, double humidity, double precipitation, double windSpeed,
+                              double precipitation24h, double precipitation72h) {
+        int mask = 0;
+        if (precipitation > 10) mask |= RiskFactor.HEAVY_PRECIPITATION.bit();
+        if (precipitation24h > 30) mask |= RiskFactor.PROLONGED_RAINFALL.bit();
+        if (precipitation72h > 75) mask |= RiskFactor.SATURATED_GROUND.bit();
+        if (humidity > 80) mask |= RiskFactor.HIGH_HUMIDITY.bit();
+        if (windSpeed > 20) mask |= RiskFactor.STRONG_WINDS.bit();
+        if (Math.abs(temperature) < 5) mask |= RiskFactor.NEAR_FREEZING.bit();
+        return mask;
+    }
+
+    /**
+     * Scores every row of {@code columns} into {@code scores} and {@code factors}, which must
+     * hold at least {@code columns.size()} entries.
+     */
+    public static void scoreBatch(WeatherColumns columns, double[] scores, int[] factors) {
+        int size = columns.size();
+        if (scores.length < size || factors.length < size) {
+            throw new IllegalArgumentException("Output arrays are smaller than the batch: " + size);
+        }
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(columns.temperature[i], columns.humidity[i], columns.precipitation[i],
+                columns.windSpeed[i], columns.precipitation3h[i], columns.precipitation24h[i],
+                columns.precipitation72h[i]);
+            factors[i] = factors(columns.temperature[i], columns.humidity[i], columns.precipitation[i],
+                columns.windSpeed[i], columns.precipitation24h[i], columns.precipitation72h[i]);
+        }
+    }
+
+    private static double orZero(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.floodguard.ml;
+
+import com.floodguard.model.WeatherData;
+
+import java.util.function.Function;
+
+/**
+ * Risk model inputs, declared in the order {@code ml/flood_risk_model.py} trains and exports
+ * them ({@code FEATURES}). The names are the keys the ML service reads from a request.
+ */
+public enum ModelFeature {
+    TEMPERATURE("temperature", WeatherData::getTemperature),
+    HUMIDITY("humidity", WeatherData::getHumidity),
+    PRECIPITATION("precipitation", WeatherData::getPrecipitation),
+    WIND_SPEED("wind_speed", WeatherData::getWindSpeed),
+    PRECIPITATION_3H("precipitation_3h", WeatherData::getPrecipitation3h),
+    PRECIPITATION_24H("precipitation_24h", WeatherData::getPrecipitation24h),
+    PRECIPITATION_72H("precipitation_72h", WeatherData::getPrecipitation72h);
+
+    private final String featureName;
+    private final Function<WeatherData, Number> getter;
+
+    ModelFeature(String featureName, Function<WeatherData, Number> getter) {
+        this.featureName = featureName;
+        this.getter = getter;
+    }
+
+    public String getFeatureName() {
+        return featureName;
+    }
+
+    public Number of(WeatherData weatherData) {
+        return getter.apply(weatherData);
+    }
+
+    /**
+     * The feature as a primitive, NaN when missing.
+     */
+    public double valueOf(WeatherData weatherData) {
+        Number value = getter.apply(weatherData);
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    public static ModelFeature named(String featureName) {
+        for (ModelFeature feature : values()) {
+            if (feature.featureName.equals(featureName)) {
+                return feature;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported model feature: " + featureName);
+    }
+}
@@ -0,0 +1,77 @@
+package com.floodguard.ml;
+
+/**
+ * Compact evaluator for a scikit-learn regression forest exported by {@code ml/export_model.py}.
+ * <p>
+ * All trees share one flat node table: node {@code n} splits on {@code feature[n]} at
+ * {@code threshold[n]} and continues to {@code left[n]} or {@code right[n]}; leaves have
+ * {@code left[n] == -1} and carry their prediction in {@code value[n]}. {@code roots} holds
+ * each tree's first node. Inputs are standardized with the exported scaler on the fly, so a
+ * prediction is a handful of array reads per tree and allocates nothing.
+ */
+public final class RandomForest {
+
+    private final String[] featureNames;
+    private final double[] mean;
+    private final double[] scale;
+    private final int[] roots;
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] value;
+
+    public RandomForest(String[] featureNames, double[] mean, double[] scale, int[] roots,
+                        int[] feature, double[] threshold, int[] left, int[] right, double[] value) {
+        if (mean.length != featureNames.length || scale.length != featureNames.length) {
+            throw new IllegalArgumentException("Scaler does not match the feature count");
+        }
+        int nodes = feature.length;
+        if (threshold.length != nodes || left.length != nodes || right.length != nodes || value.length != nodes) {
+            throw new IllegalArgumentException("Node arrays must all have the same length");
+        }
+        if (roots.length == 0) {
+            throw new IllegalArgumentException("Forest has no trees");
+        }
+        this.featureNames = featureNames;
+        this.mean = mean;
+        this.scale = scale;
+        this.roots = roots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.left = left;
+        this.right = right;
+        this.value = value;
+    }
+
+    public String[] getFeatureNames() {
+        return featureNames.clone();
+    }
+
+    public int getTreeCount() {
+        return roots.length;
+    }
+
+    public int getNodeCount() {
+        return feature.length;
+    }
+
+    /**
+     * Predicts for one raw (unscaled) feature vector in {@link #getFeatureNames()} order.
+     * NaN features are imputed with the training mean.
+     */
+    public double predict(double[] features) {
+        double sum = 0.0;
+        for (int root : roots) {
+            int node = root;
+            while (left[node] != -1) {
+                int f = feature[node];
+                double x = features[f];
+                double scaled = Double.isNaN(x) ? 0.0 : (x - mean[f]) / scale[f];
+                node = scaled <= threshold[node] ? left[node] : right[node];
+            }
+            sum += value[node];
+        }
+        return sum / roots.length;
+    }
+}
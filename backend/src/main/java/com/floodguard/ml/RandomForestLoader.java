@@ -0,0 +1,72 @@
+package com.floodguard.ml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the JSON node table written by {@code ml/export_model.py} into a {@link RandomForest}.
+ * <pre>
+ * {"features": [...], "scaler": {"mean": [...], "scale": [...]},
+ *  "trees": [{"feature": [...], "threshold": [...], "left": [...], "right": [...], "value": [...]}, ...]}
+ * </pre>
+ */
+public final class RandomForestLoader {
+
+    private RandomForestLoader() {
+    }
+
+    public static RandomForest load(InputStream input, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(input);
+
+        JsonNode featureNodes = root.path("features");
+        String[] featureNames = new String[featureNodes.size()];
+        for (int i = 0; i < featureNames.length; i++) {
+            featureNames[i] = featureNodes.get(i).asText();
+        }
+        double[] mean = doubles(root.path("scaler").path("mean"));
+        double[] scale = doubles(root.path("scaler").path("scale"));
+
+        JsonNode trees = root.path("trees");
+        int nodeCount = 0;
+        for (JsonNode tree : trees) {
+            nodeCount += tree.path("feature").size();
+        }
+
+        int[] roots = new int[trees.size()];
+        int[] feature = new int[nodeCount];
+        double[] threshold = new double[nodeCount];
+        int[] left = new int[nodeCount];
+        int[] right = new int[nodeCount];
+        double[] value = new double[nodeCount];
+
+        int base = 0;
+        for (int t = 0; t < trees.size(); t++) {
+            JsonNode tree = trees.get(t);
+            int size = tree.path("feature").size();
+            roots[t] = base;
+            for (int i = 0; i < size; i++) {
+                int node = base + i;
+                int leftChild = tree.path("left").get(i).asInt();
+                feature[node] = tree.path("feature").get(i).asInt();
+                threshold[node] = tree.path("threshold").get(i).asDouble();
+                left[node] = leftChild == -1 ? -1 : base + leftChild;
+                right[node] = leftChild == -1 ? -1 : base + tree.path("right").get(i).asInt();
+                value[node] = tree.path("value").get(i).asDouble();
+            }
+            base += size;
+        }
+
+        return new RandomForest(featureNames, mean, scale, roots, feature, threshold, left, right, value);
+    }
+
+    private static double[] doubles(JsonNode array) {
+        double[] values = new double[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asDouble();
+        }
+        return values;
+    }
+}
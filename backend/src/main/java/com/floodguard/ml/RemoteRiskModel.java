@@ -0,0 +1,65 @@
+package com.floodguard.ml;
+
+import com.floodguard.client.MlServiceClient;
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link RiskModel} backed by the Python ML service's {@code /predict} routes.
+ */
+public class RemoteRiskModel implements RiskModel {
+
+    private final MlServiceClient mlServiceClient;
+
+    public RemoteRiskModel(MlServiceClient mlServiceClient) {
+        this.mlServiceClient = mlServiceClient;
+    }
+
+    @Override
+    public CompletableFuture<FloodRisk> predict(WeatherData weatherData) {
+        return mlServiceClient.predict(toMlFeatures(weatherData))
+            .thenApply(prediction -> toFloodRisk(weatherData, prediction));
+    }
+
+    @Override
+    public CompletableFuture<List<FloodRisk>> predictBatch(List<WeatherData> weatherData) {
+        List<Map<String, Object>> features = new ArrayList<>(weatherData.size());
+        for (WeatherData data : weatherData) {
+            features.add(toMlFeatures(data));
+        }
+        return mlServiceClient.predictBatch(features).thenApply(predictions -> {
+            List<FloodRisk> risks = new ArrayList<>(weatherData.size());
+            for (int i = 0; i < weatherData.size(); i++) {
+                risks.add(toFloodRisk(weatherData.get(i), predictions.get(i)));
+            }
+            return risks;
+        });
+    }
+
+    private Map<String, Object> toMlFeatures(WeatherData weatherData) {
+        Map<String, Object> weather = new HashMap<>();
+        for (ModelFeature feature : ModelFeature.values()) {
+            weather.put(feature.getFeatureName(), feature.of(weatherData));
+        }
+        return weather;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FloodRisk toFloodRisk(WeatherData weatherData, Map<String, Object> prediction) {
+        FloodRisk floodRisk = new FloodRisk();
+        floodRisk.setLatitude(weatherData.getLatitude());
+        floodRisk.setLongitude(weatherData.getLongitude());
+        floodRisk.setRiskScore(((Number) prediction.get("risk_score")).doubleValue());
+        floodRisk.setRiskLevel((String) prediction.get("risk_level"));
+        floodRisk.setFactors((List<String>) prediction.get("factors"));
+        floodRisk.setTimestamp(LocalDateTime.now());
+        return floodRisk;
+    }
+}
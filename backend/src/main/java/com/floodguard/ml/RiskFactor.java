@@ -0,0 +1,43 @@
+package com.floodguard.ml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conditions reported alongside a heuristic risk score, packed into an int bitmask by
+ * {@link HeuristicRiskScorer}.
+ */
+public enum RiskFactor {
+    HEAVY_PRECIPITATION("Heavy precipitation"),
+    PROLONGED_RAINFALL("Prolonged rainfall"),
+    SATURATED_GROUND("Saturated ground"),
+    HIGH_HUMIDITY("High humidity"),
+    STRONG_WINDS("Strong winds"),
+    NEAR_FREEZING("Near-freezing temperatures");
+
+    private static final RiskFactor[] VALUES = values();
+
+    private final String description;
+
+    RiskFactor(String description) {
+        this.description = description;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public static List<String> describe(int mask) {
+        List<String> descriptions = new ArrayList<>(Integer.bitCount(mask));
+        for (RiskFactor factor : VALUES) {
+            if ((mask & factor.bit()) != 0) {
+                descriptions.add(factor.description);
+            }
+        }
+        return descriptions;
+    }
+}
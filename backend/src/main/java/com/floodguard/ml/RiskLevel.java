@@ -0,0 +1,16 @@
+package com.floodguard.ml;
+
+/**
+ * Flood risk bands. {@link #name()} is the level string used in API responses.
+ */
+public enum RiskLevel {
+    MINIMAL, LOW, MEDIUM, HIGH, EXTREME;
+
+    public static RiskLevel of(double riskScore) {
+        if (riskScore >= 80) return EXTREME;
+        if (riskScore >= 60) return HIGH;
+        if (riskScore >= 40) return MEDIUM;
+        if (riskScore >= 20) return LOW;
+        return MINIMAL;
+    }
+}
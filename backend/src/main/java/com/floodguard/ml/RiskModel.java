@@ -0,0 +1,21 @@
+package com.floodguard.ml;
+
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scores weather observations for flood risk. Implementations may run in-process or call
+ * the Python ML service; callers fall back to the local heuristic when a prediction fails.
+ */
+public interface RiskModel {
+
+    CompletableFuture<FloodRisk> predict(WeatherData weatherData);
+
+    /**
+     * Scores every observation in one call; results are in input order.
+     */
+    CompletableFuture<List<FloodRisk>> predictBatch(List<WeatherData> weatherData);
+}
@@ -0,0 +1,76 @@
+package com.floodguard.ml;
+
+import com.floodguard.model.WeatherData;
+
+import java.util.List;
+
+/**
+ * Weather observations unboxed into one primitive column per field, so a batch can be scored
+ * in a tight loop. Missing values are NaN.
+ */
+public final class WeatherColumns {
+
+    final double[] temperature;
+    final double[] humidity;
+    final double[] precipitation;
+    final double[] windSpeed;
+    final double[] precipitation3h;
+    final double[] precipitation24h;
+    final double[] precipitation72h;
+    private int size;
+
+    public WeatherColumns(int capacity) {
+        temperature = new double[capacity];
+        humidity = new double[capacity];
+        precipitation = new double[capacity];
+        windSpeed = new double[capacity];
+        precipitation3h = new double[capacity];
+        precipitation24h = new double[capacity];
+        precipitation72h = new double[capacity];
+    }
+
+    public static WeatherColumns of(List<WeatherData> weatherData) {
+        WeatherColumns columns = new WeatherColumns(weatherData.size());
+        for (WeatherData data : weatherData) {
+            columns.add(data);
+        }
+        return columns;
+    }
+
+    public void add(WeatherData data) {
+        add(valueOf(data.getTemperature()),
+            data.getHumidity() == null ? Double.NaN : data.getHumidity(),
+            valueOf(data.getPrecipitation()),
+            valueOf(data.getWindSpeed()),
+            valueOf(data.getPrecipitation3h()),
+            valueOf(data.getPrecipitation24h()),
+            valueOf(data.getPrecipitation72h()));
+    }
+
+    public void add(double temperature, double humidity, double precipitation, double windSpeed,
+                    double precipitation3h, double precipitation24h, double precipitation72h) {
+        if (size == this.temperature.length) {
+            throw new IllegalStateException("Weather columns are full: " + size);
+        }
+        this.temperature[size] = temperature;
+        this.humidity[size] = humidity;
+        this.precipitation[size] = precipitation;
+        this.windSpeed[size] = windSpeed;
+        this.precipitation3h[size] = precipitation3h;
+        this.precipitation24h[size] = precipitation24h;
+        this.precipitation72h[size] = precipitation72h;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
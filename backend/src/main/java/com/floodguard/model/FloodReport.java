@@ -8,15 +8,22 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Entity
 @Table(name = "flood_reports")
 public class FloodReport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flood_reports_seq")
+    @SequenceGenerator(name = "flood_reports_seq", sequenceName = "flood_reports_id_seq", allocationSize = 50)
     private Long id;
 
+    // Client-visible id for reports accepted through the surge ingest queue
+    @Column(unique = true)
+    private UUID trackingId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User reporter;
@@ -0,0 +1,25 @@
+package com.floodguard.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "stored_images")
+public class StoredImage {
+    @Id
+    private String fileName;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    private long size;
+
+    private int refCount;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -1,9 +1,12 @@
 package com.floodguard.model;
 
+import com.floodguard.security.UserChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +17,7 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 public class User implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +43,15 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role = Role.USER;
 
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion;
+
+    // Role as last read from or written to the database, so a role change can be detected on update
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Role persistedRole;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
@@ -0,0 +1,40 @@
+package com.floodguard.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An area whose weather and flood risk are kept warm in the cache by refreshing every
+ * sampled cell shortly before it expires.
+ */
+@Data
+@Entity
+@Table(name = "watched_regions")
+public class WatchedRegion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private double minLatitude;
+    private double minLongitude;
+    private double maxLatitude;
+    private double maxLongitude;
+
+    // Distance between sampled points; never finer than the weather cache grid
+    private double resolutionDegrees;
+
+    private boolean enabled = true;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
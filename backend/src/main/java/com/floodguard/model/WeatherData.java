@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -21,4 +22,12 @@ public class WeatherData {
     private Double precipitation;
     private Double windSpeed;
     private LocalDateTime timestamp;
+
+    // Rolling rainfall totals for the cell at fetch time, from the in-memory accumulators
+    @Transient
+    private Double precipitation3h;
+    @Transient
+    private Double precipitation24h;
+    @Transient
+    private Double precipitation72h;
 } 
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.floodguard.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.geo.BoundingBox;
+import com.floodguard.service.ReportVerifiedEvent;
+import com.floodguard.service.RiskLevelChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event subscriptions to a bounding box. Subscriptions are registered in every
+ * coarse grid bucket their box overlaps, so an event only looks at the subscribers of the
+ * single bucket it falls in. Idle connections hold no thread: emitters are completed
+ * asynchronously and sends run on a small dedicated pool.
+ */
+@Slf4j
+@Component
+public class SubscriptionHub {
+
+    static final String REPORT_VERIFIED = "report-verified";
+    static final String RISK_LEVEL_CHANGED = "risk-level-changed";
+
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor pushExecutor;
+    private final double bucketSizeDegrees;
+    private final double maxSpanDegrees;
+    private final long emitterTimeoutMillis;
+
+    private final Map<Long, Set<Subscription>> buckets = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextId = new AtomicLong();
+
+    public SubscriptionHub(
+            ObjectMapper objectMapper,
+            @Qualifier("pushExecutor") TaskExecutor pushExecutor,
+            @Value("${push.bucket-size-degrees:1.0}") double bucketSizeDegrees,
+            @Value("${push.max-span-degrees:5.0}") double maxSpanDegrees,
+            @Value("${push.emitter-timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.pushExecutor = pushExecutor;
+        this.bucketSizeDegrees = bucketSizeDegrees;
+        this.maxSpanDegrees = maxSpanDegrees;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    public SseEmitter subscribe(BoundingBox box) {
+        return subscribe(box, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(BoundingBox box, SseEmitter emitter) {
+        if (box.getMinLatitude() > box.getMaxLatitude() || box.getMinLongitude() > box.getMaxLongitude()) {
+            throw new BadRequestException("Bounding box minimum must not exceed its maximum");
+        }
+        if (box.getMaxLatitude() - box.getMinLatitude() > maxSpanDegrees
+                || box.getMaxLongitude() - box.getMinLongitude() > maxSpanDegrees) {
+            throw new BadRequestException("Bounding box may span at most " + maxSpanDegrees + " degrees");
+        }
+        Subscription subscription = new Subscription(nextId.incrementAndGet(), box, emitter, bucketKeys(box));
+        subscriptions.add(subscription);
+        for (long key : subscription.bucketKeys) {
+            buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportVerified(ReportVerifiedEvent event) {
+        publish(event.getReport().getLatitude(), event.getReport().getLongitude(), REPORT_VERIFIED, event.getReport());
+    }
+
+    @EventListener
+    public void onRiskLevelChanged(RiskLevelChangedEvent event) {
+        publish(event.getLatitude(), event.getLongitude(), RISK_LEVEL_CHANGED, event);
+    }
+
+    void publish(double latitude, double longitude, String name, Object payload) {
+        Set<Subscription> bucket = buckets.get(bucketKey(latitude, longitude));
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            // Serialized once and shared by every recipient
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize {} event", name, ex);
+            return;
+        }
+        for (Subscription subscription : bucket) {
+            if (subscription.box.contains(latitude, longitude)) {
+                send(subscription, SseEmitter.event().name(name).data(data));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${push.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            send(subscription, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    private void send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            pushExecutor.execute(() -> {
+                try {
+                    subscription.emitter.send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    // Client went away; the emitter callbacks may not fire for a broken pipe
+                    unsubscribe(subscription);
+                    subscription.emitter.completeWithError(ex);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            log.warn("Push queue full, dropping event for subscription {}", subscription.id);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (long key : subscription.bucketKeys) {
+            buckets.computeIfPresent(key, (k, members) -> {
+                members.remove(subscription);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+
+    private long[] bucketKeys(BoundingBox box) {
+        long minRow = row(box.getMinLatitude());
+        long maxRow = row(box.getMaxLatitude());
+        long minCol = col(box.getMinLongitude());
+        long maxCol = col(box.getMaxLongitude());
+        List<Long> keys = new ArrayList<>();
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                keys.add(key(row, col));
+            }
+        }
+        return keys.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long bucketKey(double latitude, double longitude) {
+        return key(row(latitude), col(longitude));
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / bucketSizeDegrees);
+    }
+
+    private long col(double longitude) {
+        return (long) Math.floor(longitude / bucketSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) ^ (col & 0xFFFFFFFFL);
+    }
+
+    private static final class Subscription {
+        private final long id;
+        private final BoundingBox box;
+        private final SseEmitter emitter;
+        private final long[] bucketKeys;
+
+        Subscription(long id, BoundingBox box, SseEmitter emitter, long[] bucketKeys) {
+            this.id = id;
+            this.box = box;
+            this.emitter = emitter;
+            this.bucketKeys = bucketKeys;
+        }
+    }
+}
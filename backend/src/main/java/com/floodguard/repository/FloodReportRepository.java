@@ -4,22 +4,116 @@ import com.floodguard.model.FloodReport;
 import com.floodguard.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface FloodReportRepository extends JpaRepository<FloodReport, Long> {
+    // Reporter and verifier usernames are always rendered, so fetch them with the page
+    @Override
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
+    Page<FloodReport> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
     Page<FloodReport> findByReporter(User reporter, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
     Page<FloodReport> findByStatus(FloodReport.Status status, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
+    Optional<FloodReport> findByTrackingId(UUID trackingId);
+
+    /**
+     * Keyset pages ordered by {@code (createdAt, id)} descending. Each page seeks directly to the
+     * cursor through the composite feed indexes, and a {@link Slice} skips the count query.
+     */
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
+    @Query("SELECT f FROM FloodReport f WHERE (f.createdAt, f.id) < (:createdAt, :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<FloodReport> findFeedPage(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
+    @Query("SELECT f FROM FloodReport f WHERE f.reporter = :reporter AND (f.createdAt, f.id) < (:createdAt, :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<FloodReport> findFeedPageByReporter(User reporter, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"reporter", "verifiedBy"})
+    @Query("SELECT f FROM FloodReport f WHERE f.status = :status AND (f.createdAt, f.id) < (:createdAt, :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<FloodReport> findFeedPageByStatus(FloodReport.Status status, LocalDateTime createdAt, Long id,
+                                            Pageable pageable);
+
+    @Query("SELECT f FROM FloodReport f JOIN FETCH f.reporter LEFT JOIN FETCH f.verifiedBy WHERE f.status = :status")
+    List<FloodReport> findAllWithUsersByStatus(FloodReport.Status status);
+
+    @Query("SELECT f FROM FloodReport f JOIN FETCH f.reporter LEFT JOIN FETCH f.verifiedBy WHERE f.id IN :ids")
+    List<FloodReport> findAllWithUsersByIdIn(Collection<Long> ids);
+
+    /**
+     * Moves the given reports to {@code status} in one statement and returns the ids that
+     * actually changed; reports already in that status are left alone. The statement is read
+     * through {@code RETURNING}, so it runs as a query rather than a {@code @Modifying} update
+     * and needs its own write transaction.
+     */
+    @Transactional
+    @Query(value = "UPDATE flood_reports SET status = :status, verified_at = :moderatedAt, " +
+           "verified_by = :moderatorId, updated_at = :moderatedAt " +
+           "WHERE id IN (:ids) AND status <> :status RETURNING id",
+           nativeQuery = true)
+    List<Long> moderateByIds(Collection<Long> ids, String status, Long moderatorId, LocalDateTime moderatedAt);
+
+    /**
+     * Set-based moderation by filter: up to {@code limit} reports in {@code fromStatus}, inside the
+     * box and created in {@code [createdFrom, createdTo)}, move to {@code status}. Rows locked by
+     * a concurrent moderation are skipped rather than waited on.
+     */
+    @Transactional
+    @Query(value = "UPDATE flood_reports SET status = :status, verified_at = :moderatedAt, " +
+           "verified_by = :moderatorId, updated_at = :moderatedAt " +
+           "WHERE id IN (SELECT f.id FROM flood_reports f WHERE f.status = :fromStatus AND " +
+           "point(f.longitude, f.latitude) <@ box(point(:minLongitude, :minLatitude), point(:maxLongitude, :maxLatitude)) AND " +
+           "f.created_at >= :createdFrom AND f.created_at < :createdTo " +
+           "LIMIT :limit FOR UPDATE SKIP LOCKED) AND status <> :status RETURNING id",
+           nativeQuery = true)
+    List<Long> moderateByFilter(String fromStatus, Double minLatitude, Double minLongitude,
+                                Double maxLatitude, Double maxLongitude,
+                                LocalDateTime createdFrom, LocalDateTime createdTo, int limit,
+                                String status, Long moderatorId, LocalDateTime moderatedAt);
     
-    @Query("SELECT f FROM FloodReport f WHERE f.status = 'VERIFIED' AND " +
-           "ST_Distance_Sphere(point(f.longitude, f.latitude), point(:longitude, :latitude)) <= :radius")
-    List<FloodReport> findNearbyVerifiedReports(Double latitude, Double longitude, Double radius);
-    
-    @Query("SELECT COUNT(f) FROM FloodReport f WHERE f.status = 'VERIFIED' AND " +
-           "ST_Distance_Sphere(point(f.longitude, f.latitude), point(:longitude, :latitude)) <= :radius")
-    long countNearbyVerifiedReports(Double latitude, Double longitude, Double radius);
+    /**
+     * Verified reports within {@code radius} meters, nearest first. The bounding box is answered
+     * by the GiST index on {@code point(longitude, latitude)}; haversine refines the candidates.
+     */
+    @Query(value = "SELECT * FROM (" +
+           "SELECT f.*, " + HAVERSINE_METERS + " AS distance FROM flood_reports f " +
+           "WHERE f.status = 'VERIFIED' AND " +
+           "point(f.longitude, f.latitude) <@ box(point(:minLongitude, :minLatitude), point(:maxLongitude, :maxLatitude))" +
+           ") nearby WHERE nearby.distance <= :radius ORDER BY nearby.distance LIMIT :limit",
+           nativeQuery = true)
+    List<FloodReport> findNearbyVerifiedReports(Double latitude, Double longitude, Double radius,
+                                                Double minLatitude, Double minLongitude,
+                                                Double maxLatitude, Double maxLongitude, int limit);
+
+    @Query(value = "SELECT * FROM flood_reports f " +
+           "WHERE f.status = 'VERIFIED' AND " +
+           "point(f.longitude, f.latitude) <@ box(point(:minLongitude, :minLatitude), point(:maxLongitude, :maxLatitude)) " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<FloodReport> findVerifiedReportsWithin(Double minLatitude, Double minLongitude,
+                                                Double maxLatitude, Double maxLongitude, int limit);
+
+    String HAVERSINE_METERS = "2 * 6371008.8 * asin(least(1.0, sqrt(" +
+           "power(sin(radians(f.latitude - :latitude) / 2), 2) + " +
+           "cos(radians(:latitude)) * cos(radians(f.latitude)) * " +
+           "power(sin(radians(f.longitude - :longitude) / 2), 2))))";
 } 
\ No newline at end of file
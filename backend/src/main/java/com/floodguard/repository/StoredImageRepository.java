@@ -0,0 +1,31 @@
+package com.floodguard.repository;
+
+import com.floodguard.model.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+
+    /**
+     * Records one more reference to the blob, creating its row on first use.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO stored_images (file_name, sha256, size, ref_count, created_at) " +
+           "VALUES (:fileName, :sha256, :size, 1, now()) " +
+           "ON CONFLICT (file_name) DO UPDATE SET ref_count = stored_images.ref_count + 1",
+           nativeQuery = true)
+    void acquire(String fileName, String sha256, long size);
+
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1 WHERE s.fileName = :fileName AND s.refCount > 0")
+    int release(String fileName);
+
+    @Modifying
+    @Query("DELETE FROM StoredImage s WHERE s.fileName = :fileName AND s.refCount <= 0")
+    int deleteUnreferenced(String fileName);
+}
@@ -0,0 +1,12 @@
+package com.floodguard.repository;
+
+import com.floodguard.model.WatchedRegion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WatchedRegionRepository extends JpaRepository<WatchedRegion, Long> {
+    List<WatchedRegion> findByEnabledTrue();
+}
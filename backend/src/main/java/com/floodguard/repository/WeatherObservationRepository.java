@@ -0,0 +1,167 @@
+package com.floodguard.repository;
+
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.WeatherData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the day-partitioned {@code weather_observations} table. Every query is
+ * bounded by cell and time, so it is answered from the primary key index of the few
+ * partitions the time range touches.
+ */
+@Repository
+public class WeatherObservationRepository {
+
+    static final String PARTITION_PREFIX = "weather_observations_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO weather_observations (cell_row, cell_col, observed_at, latitude, longitude, " +
+        "temperature, humidity, precipitation, wind_speed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WeatherObservationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertBatch(List<Map.Entry<GridCell, WeatherData>> observations) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, observations, observations.size(), (ps, observation) -> {
+            WeatherData data = observation.getValue();
+            ps.setLong(1, observation.getKey().getRow());
+            ps.setLong(2, observation.getKey().getCol());
+            ps.setTimestamp(3, Timestamp.valueOf(data.getTimestamp()));
+            ps.setDouble(4, data.getLatitude());
+            ps.setDouble(5, data.getLongitude());
+            ps.setObject(6, data.getTemperature(), Types.DOUBLE);
+            ps.setObject(7, data.getHumidity(), Types.INTEGER);
+            ps.setObject(8, data.getPrecipitation(), Types.DOUBLE);
+            ps.setObject(9, data.getWindSpeed(), Types.DOUBLE);
+        });
+    }
+
+    public List<WeatherData> findByCell(GridCell cell, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+            "SELECT observed_at, latitude, longitude, temperature, humidity, precipitation, wind_speed " +
+            "FROM weather_observations WHERE cell_row = ? AND cell_col = ? AND observed_at >= ? AND observed_at < ? " +
+            "ORDER BY observed_at",
+            WeatherObservationRepository::toWeatherData,
+            cell.getRow(), cell.getCol(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Mean reported hourly precipitation for each whole hour before {@code now}, indexed by
+     * hours ago (0 is the most recent hour). Hours without observations are NaN.
+     */
+    public double[] hourlyPrecipitation(GridCell cell, LocalDateTime now, int hours) {
+        double[] hourly = new double[hours];
+        Arrays.fill(hourly, Double.NaN);
+        jdbcTemplate.query(
+            "SELECT floor(extract(epoch FROM (CAST(? AS timestamp) - observed_at)) / 3600)::int AS hours_ago, avg(precipitation) AS precipitation " +
+            "FROM weather_observations WHERE cell_row = ? AND cell_col = ? AND observed_at > ? AND observed_at <= ? " +
+            "GROUP BY hours_ago",
+            rs -> {
+                int hoursAgo = rs.getInt("hours_ago");
+                double precipitation = rs.getDouble("precipitation");
+                if (hoursAgo >= 0 && hoursAgo < hours) {
+                    hourly[hoursAgo] = rs.wasNull() ? 0.0 : precipitation;
+                }
+            },
+            Timestamp.valueOf(now), cell.getRow(), cell.getCol(),
+            Timestamp.valueOf(now.minusHours(hours)), Timestamp.valueOf(now));
+        return hourly;
+    }
+
+    /**
+     * Same hourly aggregation as {@link #hourlyPrecipitation} for every cell observed in the
+     * window, streamed row by row.
+     */
+    public void forEachHourlyPrecipitation(LocalDateTime now, int hours, HourlyPrecipitationHandler handler) {
+        jdbcTemplate.query(
+            "SELECT cell_row, cell_col, floor(extract(epoch FROM (CAST(? AS timestamp) - observed_at)) / 3600)::int AS hours_ago, " +
+            "avg(precipitation) AS precipitation " +
+            "FROM weather_observations WHERE observed_at > ? AND observed_at <= ? " +
+            "GROUP BY cell_row, cell_col, hours_ago",
+            rs -> {
+                int hoursAgo = rs.getInt("hours_ago");
+                double precipitation = rs.getDouble("precipitation");
+                if (hoursAgo >= 0 && hoursAgo < hours) {
+                    handler.accept(new GridCell(rs.getLong("cell_row"), rs.getLong("cell_col")),
+                        hoursAgo, rs.wasNull() ? 0.0 : precipitation);
+                }
+            },
+            Timestamp.valueOf(now), Timestamp.valueOf(now.minusHours(hours)), Timestamp.valueOf(now));
+    }
+
+    /**
+     * Creates the partitioned parent table and its default partition when missing. Hibernate
+     * does not manage this table and nothing applies {@code db/migration}, so the application
+     * creates it itself; the definition matches {@code V10__weather_observations.sql}.
+     */
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS weather_observations (" +
+            "cell_row BIGINT NOT NULL, cell_col BIGINT NOT NULL, observed_at TIMESTAMP NOT NULL, " +
+            "latitude DOUBLE PRECISION NOT NULL, longitude DOUBLE PRECISION NOT NULL, " +
+            "temperature DOUBLE PRECISION, humidity INTEGER, precipitation DOUBLE PRECISION, wind_speed DOUBLE PRECISION, " +
+            "PRIMARY KEY (cell_row, cell_col, observed_at)) PARTITION BY RANGE (observed_at)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS weather_observations_default " +
+            "PARTITION OF weather_observations DEFAULT");
+    }
+
+    public void createDailyPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) +
+            " PARTITION OF weather_observations FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    public List<String> findDailyPartitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'weather_observations' AND c.relname LIKE ?",
+            String.class, PARTITION_PREFIX + "%");
+    }
+
+    public void dropPartition(String partitionName) {
+        if (!partitionName.matches(PARTITION_PREFIX + "\\d{8}")) {
+            throw new IllegalArgumentException("Not a daily observation partition: " + partitionName);
+        }
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName);
+    }
+
+    public static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    public static LocalDate partitionDay(String partitionName) {
+        return LocalDate.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+
+    @FunctionalInterface
+    public interface HourlyPrecipitationHandler {
+        void accept(GridCell cell, int hoursAgo, double precipitation);
+    }
+
+    private static WeatherData toWeatherData(ResultSet rs, int rowNum) throws SQLException {
+        WeatherData data = new WeatherData();
+        data.setTimestamp(rs.getTimestamp("observed_at").toLocalDateTime());
+        data.setLatitude(rs.getDouble("latitude"));
+        data.setLongitude(rs.getDouble("longitude"));
+        data.setTemperature(rs.getObject("temperature", Double.class));
+        data.setHumidity(rs.getObject("humidity", Integer.class));
+        data.setPrecipitation(rs.getObject("precipitation", Double.class));
+        data.setWindSpeed(rs.getObject("wind_speed", Double.class));
+        return data;
+    }
+}
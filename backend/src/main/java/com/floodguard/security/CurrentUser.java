@@ -4,6 +4,10 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
 import java.lang.annotation.*;
 
+/**
+ * The authenticated {@link com.floodguard.model.User}. With {@code app.jwt.stateless-principal}
+ * enabled it is built from token claims and carries only id, username, role and token version.
+ */
 @Target({ElementType.PARAMETER, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
@@ -1,9 +1,13 @@
 package com.floodguard.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.floodguard.model.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,6 +18,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,35 +29,84 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${app.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final Claims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        try {
+            // Verified once, then served from the token cache until it expires
+            claims = jwtService.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException ex) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String username = claims.getSubject();
+        if (username != null && claims.getExpiration() != null && claims.getExpiration().after(new Date())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(username, claims);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
             }
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Returns the principal for verified claims, or null when the token has been revoked.
+     * In stateless mode the principal is rebuilt from the claims alone: only id, username, role
+     * and token version are set, so consumers that need email, full name or phone number must
+     * load the user from the repository.
+     */
+    private UserDetails resolvePrincipal(String username, Claims claims) {
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        Integer tokenVersion = claims.get(JwtService.TOKEN_VERSION_CLAIM, Integer.class);
+
+        if (statelessPrincipal && userId != null && role != null && tokenVersion != null) {
+            if (!tokenVersionRegistry.isCurrent(userId, tokenVersion)) {
+                return null;
+            }
+            User user = new User();
+            user.setId(userId);
+            user.setUsername(username);
+            user.setRole(User.Role.valueOf(role));
+            user.setTokenVersion(tokenVersion);
+            return user;
+        }
+
+        UserDetails userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
+        if (tokenVersion != null && userDetails instanceof User user && user.getTokenVersion() != tokenVersion) {
+            return null;
+        }
+        return userDetails;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.floodguard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of resolved principals so authenticated requests skip the user lookup.
+ * Entries are dropped as soon as the user row changes; the TTL bounds any change made
+ * outside JPA.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return principals.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        principals.invalidate(username);
+    }
+}
@@ -0,0 +1,47 @@
+package com.floodguard.security;
+
+import com.floodguard.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Current token version per user id. A token is honoured only while its {@code tv} claim
+ * matches; bumping {@code User.tokenVersion} revokes every token issued before. Versions are
+ * pushed here by {@link UserChangeListener}, so the database is read only on a cold miss.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${app.jwt.token-version.max-size:100000}") long maxSize,
+            @Value("${app.jwt.token-version.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(REVOKED));
+        return current == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+    }
+
+    public void revoke(Long userId) {
+        versions.put(userId, REVOKED);
+    }
+}
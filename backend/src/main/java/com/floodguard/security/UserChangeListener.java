@@ -0,0 +1,69 @@
+package com.floodguard.security;
+
+import com.floodguard.model.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener on {@link User}. Hibernate obtains it from the Spring context, so cached
+ * security state can be evicted whenever a user's role, enabled flag or token version is written.
+ * A role change also bumps the token version, because issued tokens carry the old role.
+ * Collaborators are resolved lazily because the listener is created while the
+ * EntityManagerFactory they depend on is still being built.
+ */
+public class UserChangeListener {
+
+    @Autowired
+    private ObjectProvider<PrincipalCache> principalCache;
+
+    @Autowired
+    private ObjectProvider<TokenVersionRegistry> tokenVersionRegistry;
+
+    @PostLoad
+    @PostPersist
+    public void onLoad(User user) {
+        user.setPersistedRole(user.getRole());
+    }
+
+    @PreUpdate
+    public void onPreUpdate(User user) {
+        if (user.getPersistedRole() != null && user.getPersistedRole() != user.getRole()) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        user.setPersistedRole(user.getRole());
+        evictPrincipal(user);
+        TokenVersionRegistry registry = tokenVersionRegistry == null ? null : tokenVersionRegistry.getIfAvailable();
+        if (registry != null) {
+            if (user.isEnabled()) {
+                registry.update(user.getId(), user.getTokenVersion());
+            } else {
+                registry.revoke(user.getId());
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        evictPrincipal(user);
+        TokenVersionRegistry registry = tokenVersionRegistry == null ? null : tokenVersionRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.revoke(user.getId());
+        }
+    }
+
+    private void evictPrincipal(User user) {
+        PrincipalCache cache = principalCache == null ? null : principalCache.getIfAvailable();
+        if (cache != null) {
+            cache.invalidate(user.getUsername());
+        }
+    }
+}
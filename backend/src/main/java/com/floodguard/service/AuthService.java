@@ -3,6 +3,7 @@ package com.floodguard.service;
 import com.floodguard.dto.AuthResponse;
 import com.floodguard.dto.LoginRequest;
 import com.floodguard.dto.RegisterRequest;
+import com.floodguard.exception.ResourceNotFoundException;
 import com.floodguard.model.User;
 import com.floodguard.repository.UserRepository;
 import com.floodguard.security.JwtService;
@@ -49,4 +50,15 @@ public class AuthService {
         String token = jwtService.generateToken(user);
         return new AuthResponse(token);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Invalidates every token issued to the user so far.
+     */
+    @Transactional
+    public void revokeTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+    }
+}
\ No newline at end of file
@@ -1,24 +1,75 @@
 package com.floodguard.service;
 
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.exception.ResourceNotFoundException;
+import com.floodguard.repository.StoredImageRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class FileStorageService {
 
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/jpeg", ".jpg",
+        "image/png", ".png",
+        "image/gif", ".gif"
+    );
+
+    // Bytes requested from the source per transferFrom call
+    private static final long TRANSFER_CHUNK = 1 << 20;
+
+    private static final int BLOB_LOCK_STRIPES = 64;
+
     private final Path fileStorageLocation;
+    private final long maxFileSize;
+    private final Set<String> allowedTypes;
+    private final boolean contentAddressed;
+    private final StoredImageRepository storedImageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // Serializes taking a reference to a content-addressed blob with removing its file
+    private final Object[] blobLocks = new Object[BLOB_LOCK_STRIPES];
 
-    public FileStorageService(@Value("${file.upload-dir:uploads}") String uploadDir) {
+    public FileStorageService(
+            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${app.file.max-size:5242880}") long maxFileSize,
+            @Value("${app.file.allowed-types:image/jpeg,image/png,image/gif}") String[] allowedTypes,
+            @Value("${app.file.content-addressed:false}") boolean contentAddressed,
+            StoredImageRepository storedImageRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.maxFileSize = maxFileSize;
+        this.allowedTypes = Set.of(allowedTypes);
+        this.contentAddressed = contentAddressed;
+        this.storedImageRepository = storedImageRepository;
+        this.eventPublisher = eventPublisher;
+        for (int i = 0; i < blobLocks.length; i++) {
+            blobLocks[i] = new Object();
+        }
         try {
             Files.createDirectories(this.fileStorageLocation);
         } catch (IOException ex) {
@@ -29,28 +80,203 @@ public class FileStorageService {
     public String storeFile(MultipartFile file) {
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
         String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        String fileName = UUID.randomUUID().toString() + fileExtension;
+        if (fileExtension.contains("..") || fileExtension.contains("/")) {
+            throw new RuntimeException("Invalid file path sequence " + originalFilename);
+        }
 
+        try (InputStream in = file.getInputStream()) {
+            return store(in, fileExtension).getFileName();
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + originalFilename, ex);
+        }
+    }
+
+    /**
+     * Stores an image streamed straight from the request body. The bytes are hashed and
+     * size-checked as they pass through and written to disk exactly once.
+     */
+    public StoredFile storeStream(InputStream in, String contentType, long declaredLength) {
+        String mimeType = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase();
+        String extension = EXTENSIONS.get(mimeType);
+        if (extension == null || !allowedTypes.contains(mimeType)) {
+            throw new BadRequestException("Unsupported image type: " + contentType);
+        }
+        if (declaredLength > maxFileSize) {
+            throw new BadRequestException("File size exceeds maximum limit");
+        }
         try {
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Invalid file path sequence " + fileName);
+            return store(in, extension);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store uploaded image", ex);
+        }
+    }
+
+    private StoredFile store(InputStream in, String extension) throws IOException {
+        MessageDigest digest = sha256();
+        Path tempFile = Files.createTempFile(fileStorageLocation, "upload-", ".part");
+        try {
+            long size;
+            try (ReadableByteChannel source = Channels.newChannel(
+                     new DigestInputStream(new LimitedInputStream(in, maxFileSize), digest));
+                 FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                size = 0;
+                long transferred;
+                while ((transferred = target.transferFrom(source, size, TRANSFER_CHUNK)) > 0) {
+                    size += transferred;
+                }
             }
 
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (!contentAddressed) {
+                // Same directory, so the rename is atomic and moves no data
+                String fileName = UUID.randomUUID() + extension;
+                Files.move(tempFile, fileStorageLocation.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+                eventPublisher.publishEvent(new ImageStoredEvent(fileName));
+                return new StoredFile(fileName, sha256, size);
+            }
 
-            return fileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + fileName, ex);
+            String fileName = contentAddressedName(sha256, extension);
+            Path target = fileStorageLocation.resolve(fileName);
+            synchronized (blobLock(fileName)) {
+                // Reference first, then the file: a delete of the last reference that committed
+                // before this may have removed the file, so it is put back from this upload
+                storedImageRepository.acquire(fileName, sha256, size);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException ex) {
+                        // A concurrent upload of the same bytes got there first
+                    }
+                }
+            }
+            eventPublisher.publishEvent(new ImageStoredEvent(fileName));
+            return new StoredFile(fileName, sha256, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Path of a stored file, refusing names that would escape the upload directory.
+     */
+    public Path resolveStoredFile(String fileName) {
+        Path filePath = fileStorageLocation.resolve(fileName).normalize();
+        if (!filePath.startsWith(fileStorageLocation) || !Files.isRegularFile(filePath)) {
+            throw new ResourceNotFoundException("Image not found: " + fileName);
+        }
+        return filePath;
+    }
+
+    /**
+     * Location for a new file in the upload directory, refusing names that would escape it.
+     */
+    public Path resolveTarget(String fileName) {
+        Path filePath = fileStorageLocation.resolve(fileName).normalize();
+        if (!filePath.startsWith(fileStorageLocation)) {
+            throw new RuntimeException("Invalid file path sequence " + fileName);
         }
+        return filePath;
     }
 
+    /**
+     * Content-addressed names embed the SHA-256 of the bytes, which makes a strong validator.
+     * Files stored under random names never change either, so size and mtime identify them.
+     */
+    public String entityTag(String fileName, Path filePath) throws IOException {
+        String baseName = filePath.getFileName().toString();
+        int dot = baseName.indexOf('.');
+        String stem = dot < 0 ? baseName : baseName.substring(0, dot);
+        if (stem.length() == 64 && stem.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            return "\"" + stem + "\"";
+        }
+        return "\"" + Long.toHexString(Files.size(filePath)) + "-"
+            + Long.toHexString(Files.getLastModifiedTime(filePath).toMillis()) + "\"";
+    }
+
+    /**
+     * Drops one reference to a stored file. Content-addressed blobs are removed from disk only
+     * when their last reference goes; files stored under a random name are removed right away.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void deleteFile(String fileName) {
+        if (storedImageRepository.release(fileName) > 0
+                && storedImageRepository.deleteUnreferenced(fileName) == 0) {
+            return;
+        }
+        Path filePath = resolveTarget(fileName);
+        AfterCommit.run(() -> {
+            synchronized (blobLock(fileName)) {
+                // An upload of the same bytes may have taken a new reference since the release
+                if (storedImageRepository.existsById(fileName)) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(filePath);
+                    for (ImageVariant variant : ImageVariant.values()) {
+                        Files.deleteIfExists(resolveTarget(variant.fileName(fileName)));
+                    }
+                } catch (IOException ex) {
+                    throw new RuntimeException("Could not delete file " + fileName, ex);
+                }
+            }
+        });
+    }
+
+    private Object blobLock(String fileName) {
+        return blobLocks[Math.floorMod(fileName.hashCode(), blobLocks.length)];
+    }
+
+    /**
+     * {@code ab/cd/abcd...<ext>}: two directory levels keep each directory small.
+     */
+    static String contentAddressedName(String sha256, String extension) {
+        return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + extension;
+    }
+
+    private static MessageDigest sha256() {
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName);
-            Files.deleteIfExists(filePath);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not delete file " + fileName, ex);
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Fails as soon as more than {@code limit} bytes have been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        private void advance(long bytes) {
+            count += bytes;
+            if (count > limit) {
+                throw new BadRequestException("File size exceeds maximum limit");
+            }
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,28 +1,127 @@
 package com.floodguard.service;
 
+import com.floodguard.dto.BatchItemResult;
+import com.floodguard.dto.BulkModerationRequest;
+import com.floodguard.dto.BulkModerationResponse;
+import com.floodguard.dto.ReportCursor;
 import com.floodguard.dto.ReportRequest;
+import com.floodguard.dto.ReportResponse;
 import com.floodguard.model.FloodReport;
 import com.floodguard.model.User;
 import com.floodguard.repository.FloodReportRepository;
+import com.floodguard.exception.BadRequestException;
 import com.floodguard.exception.ResourceNotFoundException;
 import com.floodguard.exception.UnauthorizedException;
+import com.floodguard.geo.BoundingBox;
+import com.floodguard.geo.VerifiedReportIndex;
+import com.floodguard.ingest.QueuedReport;
+import com.floodguard.ingest.ReportIngestQueue;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class FloodReportService {
 
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final int REINDEX_CHUNK_SIZE = 1000;
+
     @Autowired
     private FloodReportRepository reportRepository;
 
+    @Autowired
+    private VerifiedReportIndex reportIndex;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ReportIngestQueue ingestQueue;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${reports.ingest.surge-mode:false}")
+    private boolean surgeMode;
+
+    @Value("${reports.moderation.max-bulk-size:5000}")
+    private int maxBulkModeration;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadReportIndex() {
+        reportIndex.load(reportRepository.findAllWithUsersByStatus(FloodReport.Status.VERIFIED).stream()
+            .map(ReportResponse::new)
+            .toList());
+    }
+
     @Transactional
     public FloodReport createReport(User currentUser, ReportRequest request, String imageUrl) {
+        return reportRepository.save(newReport(currentUser, request, imageUrl));
+    }
+
+    /**
+     * Creates every valid report in one transaction; inserts are sent in JDBC batches.
+     * Invalid items (null entries are unparsable input) are skipped and reported individually.
+     */
+    @Transactional
+    public List<BatchItemResult> createReports(User currentUser, List<ReportRequest> requests) {
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<FloodReport> reports = new ArrayList<>(requests.size());
+        List<Integer> reportIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ReportRequest request = requests.get(i);
+            String error = request == null ? "Malformed report" : validationError(request);
+            if (error != null) {
+                results.add(BatchItemResult.rejected(i, error));
+                continue;
+            }
+            reports.add(newReport(currentUser, request, null));
+            reportIndexes.add(i);
+        }
+
+        List<FloodReport> saved = reportRepository.saveAll(reports);
+        for (int i = 0; i < saved.size(); i++) {
+            results.add(BatchItemResult.created(reportIndexes.get(i), saved.get(i).getId()));
+        }
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        return results;
+    }
+
+    private String validationError(ReportRequest request) {
+        Set<ConstraintViolation<ReportRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private FloodReport newReport(User currentUser, ReportRequest request, String imageUrl) {
         FloodReport report = new FloodReport();
         report.setTitle(request.getTitle());
         report.setDescription(request.getDescription());
@@ -32,7 +131,28 @@ public class FloodReportService {
         report.setStatus(FloodReport.Status.PENDING);
         report.setReporter(currentUser);
         report.setImageUrl(imageUrl);
-        return reportRepository.save(report);
+        return report;
+    }
+
+    public boolean isSurgeMode() {
+        return surgeMode;
+    }
+
+    /**
+     * Accepts a report without touching the database. The report is appended to the durable
+     * ingest queue and written in the background; the returned tracking id identifies it.
+     */
+    public UUID enqueueReport(User currentUser, ReportRequest request, String imageUrl) {
+        UUID trackingId = UUID.randomUUID();
+        ingestQueue.append(new QueuedReport(trackingId, currentUser.getId(), request.getTitle(),
+            request.getDescription(), request.getLatitude(), request.getLongitude(), request.getSeverity(),
+            imageUrl, LocalDateTime.now()));
+        return trackingId;
+    }
+
+    public FloodReport getReportByTrackingId(UUID trackingId) {
+        return reportRepository.findByTrackingId(trackingId)
+            .orElseThrow(() -> new ResourceNotFoundException("Report not found with tracking id: " + trackingId));
     }
 
     public Page<FloodReport> getAllReports(Pageable pageable) {
@@ -43,8 +163,44 @@ public class FloodReportService {
         return reportRepository.findByReporter(user, pageable);
     }
 
-    public List<FloodReport> getNearbyReports(Double latitude, Double longitude, Double radius) {
-        return reportRepository.findNearbyVerifiedReports(latitude, longitude, radius);
+    public Slice<FloodReport> getReportFeed(ReportCursor cursor, int size) {
+        return reportRepository.findFeedPage(cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, size));
+    }
+
+    public Slice<FloodReport> getUserReportFeed(User user, ReportCursor cursor, int size) {
+        return reportRepository.findFeedPageByReporter(user, cursor.getCreatedAt(), cursor.getId(),
+            PageRequest.of(0, size));
+    }
+
+    public Slice<FloodReport> getReportFeedByStatus(FloodReport.Status status, ReportCursor cursor, int size) {
+        return reportRepository.findFeedPageByStatus(status, cursor.getCreatedAt(), cursor.getId(),
+            PageRequest.of(0, size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportResponse> getNearbyReports(Double latitude, Double longitude, Double radius, int limit) {
+        if (reportIndex.isLoaded()) {
+            return reportIndex.nearby(latitude, longitude, radius, limit);
+        }
+        // Serve from the database until the index has finished loading
+        BoundingBox box = BoundingBox.around(latitude, longitude, radius);
+        return reportRepository.findNearbyVerifiedReports(latitude, longitude, radius,
+                box.getMinLatitude(), box.getMinLongitude(), box.getMaxLatitude(), box.getMaxLongitude(), limit)
+            .stream()
+            .map(ReportResponse::new)
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportResponse> getReportsWithin(BoundingBox box, int limit) {
+        if (reportIndex.isLoaded()) {
+            return reportIndex.within(box, limit);
+        }
+        return reportRepository.findVerifiedReportsWithin(box.getMinLatitude(), box.getMinLongitude(),
+                box.getMaxLatitude(), box.getMaxLongitude(), limit)
+            .stream()
+            .map(ReportResponse::new)
+            .toList();
     }
 
     public FloodReport getReport(Long id) {
@@ -52,6 +208,15 @@ public class FloodReportService {
             .orElseThrow(() -> new ResourceNotFoundException("Report not found with id: " + id));
     }
 
+    public FloodReport getOwnedReport(User currentUser, Long id) {
+        FloodReport report = getReport(id);
+
+        if (!report.getReporter().getId().equals(currentUser.getId())) {
+            throw new UnauthorizedException("You are not authorized to update this report");
+        }
+        return report;
+    }
+
     @Transactional
     public FloodReport updateReport(User currentUser, Long id, ReportRequest request, String imageUrl) {
         FloodReport report = getReport(id);
@@ -66,10 +231,23 @@ public class FloodReportService {
         report.setLongitude(request.getLongitude());
         report.setSeverity(request.getSeverity());
         if (imageUrl != null) {
+            releaseImageAfterCommit(report.getImageUrl());
             report.setImageUrl(imageUrl);
         }
         
-        return reportRepository.save(report);
+        FloodReport saved = reportRepository.save(report);
+        reindexAfterCommit(saved);
+        return saved;
+    }
+
+    @Transactional
+    public FloodReport attachImage(User currentUser, Long id, String imageUrl) {
+        FloodReport report = getOwnedReport(currentUser, id);
+        releaseImageAfterCommit(report.getImageUrl());
+        report.setImageUrl(imageUrl);
+        FloodReport saved = reportRepository.save(report);
+        reindexAfterCommit(saved);
+        return saved;
     }
 
     @Transactional
@@ -81,6 +259,8 @@ public class FloodReportService {
         }
 
         reportRepository.delete(report);
+        AfterCommit.run(() -> reportIndex.remove(id));
+        releaseImageAfterCommit(report.getImageUrl());
     }
 
     @Transactional
@@ -89,7 +269,10 @@ public class FloodReportService {
         report.setStatus(FloodReport.Status.VERIFIED);
         report.setVerifiedAt(LocalDateTime.now());
         report.setVerifiedBy(admin);
-        return reportRepository.save(report);
+        FloodReport saved = reportRepository.save(report);
+        reindexAfterCommit(saved);
+        eventPublisher.publishEvent(new ReportVerifiedEvent(new ReportResponse(saved)));
+        return saved;
     }
 
     @Transactional
@@ -98,6 +281,73 @@ public class FloodReportService {
         report.setStatus(FloodReport.Status.REJECTED);
         report.setVerifiedAt(LocalDateTime.now());
         report.setVerifiedBy(admin);
-        return reportRepository.save(report);
+        FloodReport saved = reportRepository.save(report);
+        reindexAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Approves or rejects many reports with a single set-based UPDATE, selected either by id
+     * or by filter (status, bounding box, creation window). A filter moderates at most
+     * {@code reports.moderation.max-bulk-size} reports per call.
+     */
+    @Transactional
+    public BulkModerationResponse moderateReports(User admin, BulkModerationRequest request, FloodReport.Status status) {
+        if (request.hasIds() == request.hasFilter()) {
+            throw new BadRequestException("Select reports either by ids or by filter");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> moderated;
+        boolean limitReached = false;
+        if (request.hasIds()) {
+            if (request.getIds().size() > maxBulkModeration) {
+                throw new BadRequestException("At most " + maxBulkModeration + " reports can be moderated at once");
+            }
+            moderated = reportRepository.moderateByIds(request.getIds(), status.name(), admin.getId(), now);
+        } else {
+            FloodReport.Status fromStatus = request.getStatus() != null ? request.getStatus() : FloodReport.Status.PENDING;
+            moderated = reportRepository.moderateByFilter(fromStatus.name(),
+                valueOr(request.getMinLatitude(), -90.0), valueOr(request.getMinLongitude(), -180.0),
+                valueOr(request.getMaxLatitude(), 90.0), valueOr(request.getMaxLongitude(), 180.0),
+                valueOr(request.getCreatedFrom(), EARLIEST), valueOr(request.getCreatedTo(), LATEST),
+                maxBulkModeration, status.name(), admin.getId(), now);
+            limitReached = moderated.size() == maxBulkModeration;
+        }
+        reindexAfterCommit(moderated, status);
+        return new BulkModerationResponse(status, moderated.size(), limitReached);
+    }
+
+    private void reindexAfterCommit(List<Long> ids, FloodReport.Status status) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (status != FloodReport.Status.VERIFIED) {
+            AfterCommit.run(() -> reportIndex.removeAll(ids));
+            return;
+        }
+        // Summaries are read back inside the transaction, in chunks to bound the IN list
+        List<ReportResponse> summaries = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += REINDEX_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + REINDEX_CHUNK_SIZE));
+            reportRepository.findAllWithUsersByIdIn(chunk).forEach(report -> summaries.add(new ReportResponse(report)));
+        }
+        AfterCommit.run(() -> reportIndex.putAll(summaries));
+        summaries.forEach(summary -> eventPublisher.publishEvent(new ReportVerifiedEvent(summary)));
+    }
+
+    private static <T> T valueOr(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private void reindexAfterCommit(FloodReport report) {
+        // Build the summary now, while lazy associations can still be loaded
+        ReportResponse summary = new ReportResponse(report);
+        AfterCommit.run(() -> reportIndex.put(summary));
+    }
+
+    private void releaseImageAfterCommit(String imageUrl) {
+        if (imageUrl != null) {
+            AfterCommit.run(() -> fileStorageService.deleteFile(imageUrl));
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.floodguard.service;
+
+import lombok.Value;
+
+@Value
+public class ImageStoredEvent {
+    String fileName;
+}
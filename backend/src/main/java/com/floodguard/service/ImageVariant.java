@@ -0,0 +1,27 @@
+package com.floodguard.service;
+
+/**
+ * Downscaled JPEG copies generated for every stored image. A variant is stored next to its
+ * original, so its name can be derived without a lookup.
+ */
+public enum ImageVariant {
+    THUMBNAIL(160),
+    PREVIEW(480);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String fileName(String original) {
+        int dot = original.lastIndexOf('.');
+        int slash = original.lastIndexOf('/');
+        String stem = dot > slash ? original.substring(0, dot) : original;
+        return stem + "_" + maxDimension + ".jpg";
+    }
+}
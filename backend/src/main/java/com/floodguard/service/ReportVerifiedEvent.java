@@ -0,0 +1,9 @@
+package com.floodguard.service;
+
+import com.floodguard.dto.ReportResponse;
+import lombok.Value;
+
+@Value
+public class ReportVerifiedEvent {
+    ReportResponse report;
+}
@@ -0,0 +1,16 @@
+package com.floodguard.service;
+
+import lombok.Value;
+
+/**
+ * The cached risk level of a weather grid cell moved to a different level. Coordinates are
+ * the cell center.
+ */
+@Value
+public class RiskLevelChangedEvent {
+    double latitude;
+    double longitude;
+    String previousLevel;
+    String riskLevel;
+    Double riskScore;
+}
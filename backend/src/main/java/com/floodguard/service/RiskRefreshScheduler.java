@@ -0,0 +1,114 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.WatchedRegion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the weather cache warm for watched regions. Every run collects the cells that are
+ * missing or within {@code weather.refresh.ahead-seconds} of expiry, most urgent first, and
+ * refreshes up to {@code weather.refresh.max-cells-per-run} of them on the bounded refresh pool.
+ */
+@Slf4j
+@Component
+public class RiskRefreshScheduler {
+
+    private final WatchedRegionService regionService;
+    private final WeatherService weatherService;
+    private final WeatherCache weatherCache;
+    private final TaskExecutor refreshExecutor;
+    private final Duration refreshAhead;
+    private final int maxCellsPerRun;
+    private final Set<GridCell> inFlight = ConcurrentHashMap.newKeySet();
+
+    public RiskRefreshScheduler(
+            WatchedRegionService regionService,
+            WeatherService weatherService,
+            WeatherCache weatherCache,
+            @Qualifier("refreshExecutor") TaskExecutor refreshExecutor,
+            @Value("${weather.refresh.ahead-seconds:180}") long refreshAheadSeconds,
+            @Value("${weather.refresh.max-cells-per-run:500}") int maxCellsPerRun) {
+        this.regionService = regionService;
+        this.weatherService = weatherService;
+        this.weatherCache = weatherCache;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAhead = Duration.ofSeconds(refreshAheadSeconds);
+        this.maxCellsPerRun = maxCellsPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.refresh.interval-ms:60000}",
+               initialDelayString = "${weather.refresh.initial-delay-ms:10000}")
+    public void refreshWatchedRegions() {
+        int scheduled = refreshDueCells();
+        if (scheduled > 0) {
+            log.debug("Scheduled refresh of {} watched cells", scheduled);
+        }
+    }
+
+    int refreshDueCells() {
+        Map<GridCell, Duration> due = new LinkedHashMap<>();
+        for (WatchedRegion region : regionService.getEnabledRegions()) {
+            for (GridCell cell : regionService.cellsOf(region)) {
+                if (!inFlight.contains(cell) && !due.containsKey(cell)) {
+                    Duration remaining = remainingLifetime(cell);
+                    if (remaining.compareTo(refreshAhead) <= 0) {
+                        due.put(cell, remaining);
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<GridCell, Duration>> mostUrgentFirst = new ArrayList<>(due.entrySet());
+        mostUrgentFirst.sort(Map.Entry.comparingByValue());
+        int scheduled = 0;
+        for (Map.Entry<GridCell, Duration> entry : mostUrgentFirst) {
+            if (scheduled == maxCellsPerRun || !submit(entry.getKey())) {
+                break;
+            }
+            scheduled++;
+        }
+        return scheduled;
+    }
+
+    private Duration remainingLifetime(GridCell cell) {
+        return weatherCache.floodRiskAge(cell)
+            .map(age -> weatherCache.getTtl().minus(age))
+            .orElse(Duration.ZERO);
+    }
+
+    private boolean submit(GridCell cell) {
+        inFlight.add(cell);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    weatherService.refreshCell(cell).join();
+                } catch (CompletionException ex) {
+                    // The current entry stays cached until it expires; the next run retries
+                    log.debug("Could not refresh weather cell {}: {}", cell, ex.getCause().getMessage());
+                } finally {
+                    inFlight.remove(cell);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException ex) {
+            inFlight.remove(cell);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.floodguard.service;
+
+import lombok.Value;
+
+/**
+ * Flood risk for a slippy-map tile as a {@code size} x {@code size} grid of unsigned bytes,
+ * row-major from the north-west corner. Each byte is a risk score from 0 to 100, or
+ * {@link #UNKNOWN} where no risk is cached for the cell.
+ */
+@Value
+public class RiskTile {
+    public static final int UNKNOWN = 255;
+
+    int size;
+    byte[] scores;
+    String entityTag;
+}
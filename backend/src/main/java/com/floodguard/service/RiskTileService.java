@@ -0,0 +1,183 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.FloodRisk;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Builds flood risk heatmap tiles from the weather cache. Tiles only read cached cell
+ * results and never call upstream, so drawing a map costs no weather or model requests;
+ * watched regions keep the relevant cells warm. Built tiles are cached briefly and carry a
+ * content hash as their ETag, so an unchanged tile revalidates even after it is rebuilt.
+ */
+@Service
+public class RiskTileService {
+
+    static final int MAX_ZOOM = 22;
+    // Web Mercator stops short of the poles
+    private static final double MAX_LATITUDE = 85.0511287798;
+
+    private final WeatherCache weatherCache;
+    private final GeoGrid geoGrid;
+    private final int gridSize;
+    private final Duration ttl;
+    private final Cache<String, RiskTile> tiles;
+
+    public RiskTileService(
+            WeatherCache weatherCache,
+            GeoGrid geoGrid,
+            @Value("${weather.tiles.grid-size:32}") int gridSize,
+            @Value("${weather.tiles.ttl-seconds:60}") long ttlSeconds,
+            @Value("${weather.tiles.max-size:10000}") long maxSize) {
+        this.weatherCache = weatherCache;
+        this.geoGrid = geoGrid;
+        this.gridSize = gridSize;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.tiles = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public RiskTile getTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new BadRequestException("Invalid tile coordinates: " + z + "/" + x + "/" + y);
+        }
+        return tiles.get(z + "/" + x + "/" + y, key -> buildTile(z, x, y));
+    }
+
+    /**
+     * Each pixel takes the highest score among the cached cells it overlaps, so a single hot
+     * cell stays visible however many cells share the pixel. The cells under the tile are
+     * probed one by one when they are fewer than the cached risks; otherwise the cache is
+     * scanned, which keeps low zoom levels from walking millions of empty cells. Neither path
+     * counts towards the weather cache hit rate.
+     */
+    RiskTile buildTile(int z, int x, int y) {
+        double tileCount = 1 << z;
+        double west = x / tileCount * 360.0 - 180.0;
+        double east = (x + 1) / tileCount * 360.0 - 180.0;
+        GridCell southWest = geoGrid.cellOf(tileLatitude((y + 1) / tileCount), west);
+        GridCell northEast = geoGrid.cellOf(tileLatitude(y / tileCount), east);
+        TilePainter painter = new TilePainter(z, x, y);
+
+        long cellsInTile = (northEast.getRow() - southWest.getRow() + 1) * (northEast.getCol() - southWest.getCol() + 1);
+        if (cellsInTile <= weatherCache.floodRiskSize()) {
+            for (long row = southWest.getRow(); row <= northEast.getRow(); row++) {
+                for (long col = southWest.getCol(); col <= northEast.getCol(); col++) {
+                    GridCell cell = new GridCell(row, col);
+                    painter.paint(cell, weatherCache.peekFloodRisk(cell));
+                }
+            }
+        } else {
+            weatherCache.forEachFloodRisk((cell, risk) -> {
+                if (cell.getRow() >= southWest.getRow() && cell.getRow() <= northEast.getRow()
+                        && cell.getCol() >= southWest.getCol() && cell.getCol() <= northEast.getCol()) {
+                    painter.paint(cell, risk);
+                }
+            });
+        }
+        byte[] scores = painter.scores();
+        return new RiskTile(gridSize, scores, entityTag(scores));
+    }
+
+    private static int scoreOf(FloodRisk risk) {
+        if (risk == null || risk.getRiskScore() == null || risk.getRiskScore().isNaN()) {
+            return -1;
+        }
+        return (int) Math.round(Math.min(Math.max(risk.getRiskScore(), 0), 100));
+    }
+
+    /**
+     * Accumulates the maximum score per pixel of one tile.
+     */
+    private final class TilePainter {
+
+        private final double tileCount;
+        private final double west;
+        private final double pixelWidthDegrees;
+        private final int y;
+        private final int[] maxScores = new int[gridSize * gridSize];
+
+        TilePainter(int z, int x, int y) {
+            this.tileCount = 1 << z;
+            this.west = x / tileCount * 360.0 - 180.0;
+            this.pixelWidthDegrees = 360.0 / tileCount / gridSize;
+            this.y = y;
+            Arrays.fill(maxScores, -1);
+        }
+
+        void paint(GridCell cell, FloodRisk risk) {
+            int score = scoreOf(risk);
+            if (score < 0) {
+                return;
+            }
+            double cellSize = geoGrid.getCellSizeDegrees();
+            int colFrom = Math.max(0, (int) Math.floor((cell.getCol() * cellSize - west) / pixelWidthDegrees));
+            int colTo = Math.min(gridSize - 1,
+                (int) Math.ceil(((cell.getCol() + 1) * cellSize - west) / pixelWidthDegrees) - 1);
+            // Pixel rows grow southwards, so the cell's north edge gives the first row
+            int rowFrom = Math.max(0, (int) Math.floor(pixelRow((cell.getRow() + 1) * cellSize)));
+            int rowTo = Math.min(gridSize - 1, (int) Math.ceil(pixelRow(cell.getRow() * cellSize)) - 1);
+            for (int row = rowFrom; row <= rowTo; row++) {
+                for (int col = colFrom; col <= colTo; col++) {
+                    int index = row * gridSize + col;
+                    maxScores[index] = Math.max(maxScores[index], score);
+                }
+            }
+        }
+
+        /**
+         * Fractional pixel row of a latitude within this tile.
+         */
+        private double pixelRow(double latitude) {
+            double clamped = Math.min(Math.max(latitude, -MAX_LATITUDE), MAX_LATITUDE);
+            double yFraction = (1 - asinh(Math.tan(Math.toRadians(clamped))) / Math.PI) / 2;
+            return (yFraction * tileCount - y) * gridSize;
+        }
+
+        byte[] scores() {
+            byte[] scores = new byte[maxScores.length];
+            for (int i = 0; i < maxScores.length; i++) {
+                scores[i] = (byte) (maxScores[i] < 0 ? RiskTile.UNKNOWN : maxScores[i]);
+            }
+            return scores;
+        }
+    }
+
+    private static double asinh(double value) {
+        return Math.log(value + Math.sqrt(value * value + 1));
+    }
+
+    /**
+     * Latitude of a Web Mercator y coordinate given as a fraction of the map height.
+     */
+    private static double tileLatitude(double yFraction) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * yFraction))));
+    }
+
+    private static String entityTag(byte[] scores) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(scores);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.floodguard.service;
+
+import lombok.Value;
+
+@Value
+public class StoredFile {
+    String fileName;
+    String sha256;
+    long size;
+}
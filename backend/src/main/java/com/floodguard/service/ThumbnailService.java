@@ -0,0 +1,142 @@
+package com.floodguard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Generates {@link ImageVariant}s in the background after an image is stored. Large sources
+ * are subsampled while decoding so a 10MB photo never has to be held at full resolution.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolTaskExecutor thumbnailExecutor;
+
+    public ThumbnailService(FileStorageService fileStorageService,
+                            @Qualifier("thumbnailExecutor") ThreadPoolTaskExecutor thumbnailExecutor) {
+        this.fileStorageService = fileStorageService;
+        this.thumbnailExecutor = thumbnailExecutor;
+    }
+
+    @EventListener
+    public void onImageStored(ImageStoredEvent event) {
+        try {
+            thumbnailExecutor.execute(() -> generateVariants(event.getFileName()));
+        } catch (TaskRejectedException ex) {
+            log.warn("Thumbnail queue full, skipping variants for {}", event.getFileName());
+        }
+    }
+
+    void generateVariants(String fileName) {
+        try {
+            Path source = fileStorageService.resolveStoredFile(fileName);
+            BufferedImage image = null;
+            for (ImageVariant variant : ImageVariant.values()) {
+                Path target = fileStorageService.resolveTarget(variant.fileName(fileName));
+                if (Files.exists(target)) {
+                    continue;
+                }
+                if (image == null) {
+                    // Decode once, just large enough for the biggest variant
+                    image = read(source, maxDimension());
+                    if (image == null) {
+                        log.warn("Unsupported image format for {}", fileName);
+                        return;
+                    }
+                }
+                write(scale(image, variant.getMaxDimension()), target);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not generate variants for {}", fileName, ex);
+        }
+    }
+
+    private static int maxDimension() {
+        int max = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            max = Math.max(max, variant.getMaxDimension());
+        }
+        return max;
+    }
+
+    private static BufferedImage read(Path source, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int largest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, largest / (targetDimension * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage scale(BufferedImage image, int maxDimension) {
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
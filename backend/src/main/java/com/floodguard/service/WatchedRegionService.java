@@ -0,0 +1,102 @@
+package com.floodguard.service;
+
+import com.floodguard.dto.WatchedRegionRequest;
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.exception.ResourceNotFoundException;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.WatchedRegion;
+import com.floodguard.repository.WatchedRegionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class WatchedRegionService {
+
+    private final WatchedRegionRepository regionRepository;
+    private final GeoGrid geoGrid;
+    private final int maxCellsPerRegion;
+
+    public WatchedRegionService(WatchedRegionRepository regionRepository, GeoGrid geoGrid,
+                                @Value("${weather.refresh.max-cells-per-region:2500}") int maxCellsPerRegion) {
+        this.regionRepository = regionRepository;
+        this.geoGrid = geoGrid;
+        this.maxCellsPerRegion = maxCellsPerRegion;
+    }
+
+    public List<WatchedRegion> getRegions() {
+        return regionRepository.findAll();
+    }
+
+    public List<WatchedRegion> getEnabledRegions() {
+        return regionRepository.findByEnabledTrue();
+    }
+
+    public WatchedRegion getRegion(Long id) {
+        return regionRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Watched region not found with id: " + id));
+    }
+
+    @Transactional
+    public WatchedRegion createRegion(WatchedRegionRequest request) {
+        WatchedRegion region = new WatchedRegion();
+        apply(region, request);
+        return regionRepository.save(region);
+    }
+
+    @Transactional
+    public WatchedRegion updateRegion(Long id, WatchedRegionRequest request) {
+        WatchedRegion region = getRegion(id);
+        apply(region, request);
+        return regionRepository.save(region);
+    }
+
+    @Transactional
+    public void deleteRegion(Long id) {
+        regionRepository.delete(getRegion(id));
+    }
+
+    /**
+     * Distinct weather cache cells sampled across the region at its resolution.
+     */
+    public List<GridCell> cellsOf(WatchedRegion region) {
+        double step = effectiveStep(region.getResolutionDegrees());
+        Set<GridCell> cells = new LinkedHashSet<>();
+        for (double latitude = region.getMinLatitude(); latitude <= region.getMaxLatitude(); latitude += step) {
+            for (double longitude = region.getMinLongitude(); longitude <= region.getMaxLongitude(); longitude += step) {
+                cells.add(geoGrid.cellOf(latitude, longitude));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    private void apply(WatchedRegion region, WatchedRegionRequest request) {
+        if (request.getMinLatitude() > request.getMaxLatitude() || request.getMinLongitude() > request.getMaxLongitude()) {
+            throw new BadRequestException("Region minimum must not exceed its maximum");
+        }
+        double step = effectiveStep(request.getResolutionDegrees());
+        long rows = (long) Math.floor((request.getMaxLatitude() - request.getMinLatitude()) / step) + 1;
+        long cols = (long) Math.floor((request.getMaxLongitude() - request.getMinLongitude()) / step) + 1;
+        if (rows * cols > maxCellsPerRegion) {
+            throw new BadRequestException("Region covers " + rows * cols + " cells; at most "
+                + maxCellsPerRegion + " are allowed, use a coarser resolution");
+        }
+        region.setName(request.getName());
+        region.setMinLatitude(request.getMinLatitude());
+        region.setMinLongitude(request.getMinLongitude());
+        region.setMaxLatitude(request.getMaxLatitude());
+        region.setMaxLongitude(request.getMaxLongitude());
+        region.setResolutionDegrees(request.getResolutionDegrees());
+        region.setEnabled(request.isEnabled());
+    }
+
+    private double effectiveStep(double resolutionDegrees) {
+        return Math.max(resolutionDegrees, geoGrid.getCellSizeDegrees());
+    }
+}
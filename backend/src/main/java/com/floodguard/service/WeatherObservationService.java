@@ -0,0 +1,182 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.RainfallAccumulators;
+import com.floodguard.cache.RainfallTotals;
+import com.floodguard.dto.PrecipitationTotals;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.WeatherData;
+import com.floodguard.repository.WeatherObservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only store of every weather observation fetched from upstream. Observations are
+ * buffered in memory and written in JDBC batches; when the buffer is full new observations
+ * are dropped rather than slowing the request path.
+ */
+@Slf4j
+@Service
+public class WeatherObservationService {
+
+    public static final int MAX_WINDOW_HOURS = 72;
+
+    private final WeatherObservationRepository observationRepository;
+    private final RainfallAccumulators rainfallAccumulators;
+    private final GeoGrid geoGrid;
+    private final int batchSize;
+    private final int retentionDays;
+    private final BlockingQueue<Map.Entry<GridCell, WeatherData>> buffer;
+    private final LongAdder dropped = new LongAdder();
+
+    public WeatherObservationService(
+            WeatherObservationRepository observationRepository,
+            RainfallAccumulators rainfallAccumulators,
+            GeoGrid geoGrid,
+            @Value("${weather.observations.batch-size:500}") int batchSize,
+            @Value("${weather.observations.buffer-capacity:20000}") int bufferCapacity,
+            @Value("${weather.observations.retention-days:30}") int retentionDays) {
+        this.observationRepository = observationRepository;
+        this.rainfallAccumulators = rainfallAccumulators;
+        this.geoGrid = geoGrid;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    public void record(GridCell cell, WeatherData data) {
+        if (data.getTimestamp() == null) {
+            dropped.increment();
+            return;
+        }
+        // A missing rain.1h means no rain was reported for the hour
+        rainfallAccumulators.record(cell, data.getTimestamp(),
+            data.getPrecipitation() != null ? data.getPrecipitation() : 0.0);
+        if (!buffer.offer(new AbstractMap.SimpleImmutableEntry<>(cell, data))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Rolling rainfall for the cell from memory; never queries the database.
+     */
+    public RainfallTotals getRainfallTotals(GridCell cell) {
+        return rainfallAccumulators.totals(cell, LocalDateTime.now());
+    }
+
+    /**
+     * Fills the rainfall accumulators from the last 72 hours of stored observations so
+     * totals survive a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedRainfallAccumulators() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            observationRepository.forEachHourlyPrecipitation(now, RainfallAccumulators.WINDOW_HOURS,
+                (cell, hoursAgo, precipitation) -> rainfallAccumulators.seed(cell, now, hoursAgo, precipitation));
+            log.info("Seeded rainfall accumulators for {} cells", rainfallAccumulators.size());
+        } catch (DataAccessException ex) {
+            log.warn("Could not seed rainfall accumulators: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${weather.observations.flush-interval-ms:5000}")
+    public void flush() {
+        List<Map.Entry<GridCell, WeatherData>> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                observationRepository.insertBatch(batch);
+            } catch (DataAccessException ex) {
+                log.warn("Dropping {} weather observations: {}", batch.size(), ex.getMessage());
+            }
+            batch.clear();
+        }
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            log.warn("Weather observation buffer was full, dropped {} observations", lost);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Creates the table on first run, then the daily partitions for today and the next two
+     * days, and drops those past the retention period.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${weather.observations.partition-cron:0 5 0 * * *}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        try {
+            observationRepository.createTableIfMissing();
+            for (int day = 0; day <= 2; day++) {
+                observationRepository.createDailyPartition(today.plusDays(day));
+            }
+            LocalDate oldestKept = today.minusDays(retentionDays);
+            for (String partition : observationRepository.findDailyPartitions()) {
+                if (WeatherObservationRepository.partitionDay(partition).isBefore(oldestKept)) {
+                    observationRepository.dropPartition(partition);
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not maintain weather observation partitions: {}", ex.getMessage());
+        }
+    }
+
+    public List<WeatherData> getHistory(double latitude, double longitude, int hours) {
+        LocalDateTime now = LocalDateTime.now();
+        return observationRepository.findByCell(geoGrid.cellOf(latitude, longitude), now.minusHours(hours), now);
+    }
+
+    public PrecipitationTotals getPrecipitationTotals(double latitude, double longitude) {
+        return getPrecipitationTotals(geoGrid.cellOf(latitude, longitude));
+    }
+
+    public PrecipitationTotals getPrecipitationTotals(GridCell cell) {
+        return totals(observationRepository.hourlyPrecipitation(cell, LocalDateTime.now(), MAX_WINDOW_HOURS));
+    }
+
+    /**
+     * Sums hourly precipitation, most recent hour first, into the trailing windows. Hours
+     * without observations (NaN) contribute nothing.
+     */
+    static PrecipitationTotals totals(double[] hourly) {
+        double last1h = 0, last24h = 0, last72h = 0;
+        int observedHours = 0;
+        for (int hoursAgo = 0; hoursAgo < hourly.length && hoursAgo < MAX_WINDOW_HOURS; hoursAgo++) {
+            double precipitation = hourly[hoursAgo];
+            if (Double.isNaN(precipitation)) {
+                continue;
+            }
+            observedHours++;
+            last72h += precipitation;
+            if (hoursAgo < 24) {
+                last24h += precipitation;
+            }
+            if (hoursAgo < 1) {
+                last1h += precipitation;
+            }
+        }
+        double avgHourly = observedHours == 0 ? 0 : last72h / observedHours;
+        return new PrecipitationTotals(last1h, last24h, last72h, avgHourly, observedHours);
+    }
+}
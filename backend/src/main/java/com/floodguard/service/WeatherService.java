@@ -1,214 +1,242 @@
 package com.floodguard.service;
 
+import com.floodguard.cache.RainfallTotals;
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.client.WeatherApiClient;
+import com.floodguard.dto.GeoPoint;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.ml.HeuristicRiskScorer;
+import com.floodguard.ml.RiskFactor;
+import com.floodguard.ml.RiskLevel;
+import com.floodguard.ml.RiskModel;
+import com.floodguard.ml.WeatherColumns;
 import com.floodguard.model.WeatherData;
 import com.floodguard.model.FloodRisk;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class WeatherService {
 
-    @Value("${weather.api.key}")
-    private String weatherApiKey;
-
-    @Value("${weather.api.url}")
-    private String weatherApiUrl;
-
-    @Value("${ml.service.url}")
-    private String mlServiceUrl;
+    private final GeoGrid geoGrid;
+    private final WeatherCache weatherCache;
+    private final WeatherApiClient weatherApiClient;
+    private final RiskModel riskModel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WeatherObservationService observationService;
+    // Last known level per cell; outlives the risk cache so a refresh can be compared to it
+    private final Cache<GridCell, String> lastRiskLevels;
+
+    public WeatherService(GeoGrid geoGrid, WeatherCache weatherCache,
+                          WeatherApiClient weatherApiClient, RiskModel riskModel,
+                          ApplicationEventPublisher eventPublisher,
+                          WeatherObservationService observationService,
+                          @Value("${weather.cache.max-size:10000}") long maxTrackedCells) {
+        this.geoGrid = geoGrid;
+        this.weatherCache = weatherCache;
+        this.weatherApiClient = weatherApiClient;
+        this.riskModel = riskModel;
+        this.eventPublisher = eventPublisher;
+        this.observationService = observationService;
+        this.lastRiskLevels = Caffeine.newBuilder()
+            .maximumSize(maxTrackedCells)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+    }
 
-    private final RestTemplate restTemplate;
-    private final Map<String, WeatherData> weatherCache;
-    private final Map<String, FloodRisk> floodRiskCache;
+    public CompletableFuture<WeatherData> getWeatherData(Double latitude, Double longitude) {
+        GridCell cell = geoGrid.cellOf(latitude, longitude);
+        return weatherCache.getWeatherData(cell, this::fetchWeatherData);
+    }
 
-    public WeatherService() {
-        this.restTemplate = new RestTemplate();
-        this.weatherCache = new HashMap<>();
-        this.floodRiskCache = new HashMap<>();
+    public CompletableFuture<FloodRisk> calculateFloodRisk(Double latitude, Double longitude) {
+        GridCell cell = geoGrid.cellOf(latitude, longitude);
+        return weatherCache.getFloodRisk(cell, key -> getWeatherData(latitude, longitude)
+                .thenCompose(riskModel::predict)
+                .thenApply(risk -> recordRiskLevel(cell, risk)))
+            .exceptionally(ex -> {
+                // Fallback to basic risk calculation if the risk model is unavailable
+                WeatherData weatherData = weatherCache.getWeatherData(cell);
+                if (weatherData == null) {
+                    throw ex instanceof CompletionException completionException
+                        ? completionException : new CompletionException(ex);
+                }
+                return calculateBasicFloodRisk(weatherData);
+            });
     }
 
-    @Cacheable(value = "weatherData", key = "#latitude + ',' + #longitude")
-    public WeatherData getWeatherData(Double latitude, Double longitude) {
-        String cacheKey = latitude + "," + longitude;
-        
-        // Check cache first
-        if (weatherCache.containsKey(cacheKey)) {
-            WeatherData cachedData = weatherCache.get(cacheKey);
-            if (!isDataStale(cachedData.getTimestamp())) {
-                return cachedData;
+    /**
+     * Scores many points at once. Points are grouped by grid cell, missing weather is
+     * fetched concurrently, and all uncached cells are scored by the risk model in one batch call.
+     * Results are returned in input order; a point whose weather could not be fetched maps to null.
+     */
+    public CompletableFuture<List<FloodRisk>> calculateFloodRiskBatch(List<GeoPoint> points) {
+        Map<GridCell, FloodRisk> risks = new HashMap<>();
+        Map<GridCell, CompletableFuture<WeatherData>> pendingWeather = new LinkedHashMap<>();
+        for (GeoPoint point : points) {
+            GridCell cell = geoGrid.cellOf(point.getLatitude(), point.getLongitude());
+            if (risks.containsKey(cell) || pendingWeather.containsKey(cell)) {
+                continue;
+            }
+            FloodRisk cachedRisk = weatherCache.getFloodRisk(cell);
+            if (cachedRisk != null) {
+                risks.put(cell, cachedRisk);
+            } else {
+                pendingWeather.put(cell, weatherCache.getWeatherData(cell, this::fetchWeatherData)
+                    .exceptionally(ex -> null));
             }
         }
 
-        // Fetch new data from weather API
-        String url = String.format("%s?lat=%f&lon=%f&appid=%s&units=metric",
-            weatherApiUrl, latitude, longitude, weatherApiKey);
-        
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        
-        WeatherData weatherData = new WeatherData();
-        weatherData.setLatitude(latitude);
-        weatherData.setLongitude(longitude);
-        weatherData.setTemperature((Double) response.get("main.temp"));
-        weatherData.setHumidity((Integer) response.get("main.humidity"));
-        weatherData.setPrecipitation((Double) response.get("rain.1h"));
-        weatherData.setWindSpeed((Double) response.get("wind.speed"));
-        weatherData.setTimestamp(LocalDateTime.now());
-
-        // Update cache
-        weatherCache.put(cacheKey, weatherData);
-        
-        return weatherData;
+        return CompletableFuture.allOf(pendingWeather.values().toArray(new CompletableFuture<?>[0]))
+            .thenCompose(ignored -> {
+                Map<GridCell, WeatherData> weatherByCell = new LinkedHashMap<>();
+                pendingWeather.forEach((cell, future) -> {
+                    WeatherData weatherData = future.join();
+                    if (weatherData != null) {
+                        weatherByCell.put(cell, weatherData);
+                    }
+                });
+                return predictFloodRisks(weatherByCell);
+            })
+            .thenApply(predicted -> {
+                risks.putAll(predicted);
+                List<FloodRisk> results = new ArrayList<>(points.size());
+                for (GeoPoint point : points) {
+                    results.add(risks.get(geoGrid.cellOf(point.getLatitude(), point.getLongitude())));
+                }
+                return results;
+            });
     }
 
-    @Cacheable(value = "floodRisk", key = "#latitude + ',' + #longitude")
-    public FloodRisk calculateFloodRisk(Double latitude, Double longitude) {
-        String cacheKey = latitude + "," + longitude;
-        
-        // Check cache first
-        if (floodRiskCache.containsKey(cacheKey)) {
-            FloodRisk cachedRisk = floodRiskCache.get(cacheKey);
-            if (!isDataStale(cachedRisk.getTimestamp())) {
-                return cachedRisk;
-            }
+    private CompletableFuture<Map<GridCell, FloodRisk>> predictFloodRisks(Map<GridCell, WeatherData> weatherByCell) {
+        if (weatherByCell.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
         }
+        List<GridCell> cells = new ArrayList<>(weatherByCell.keySet());
+
+        // Score every cell with a single vectorized model call
+        return riskModel.predictBatch(new ArrayList<>(weatherByCell.values()))
+            .thenApply(predictions -> {
+                Map<GridCell, FloodRisk> risks = new HashMap<>();
+                for (int i = 0; i < cells.size(); i++) {
+                    recordRiskLevel(cells.get(i), predictions.get(i));
+                    weatherCache.putFloodRisk(cells.get(i), predictions.get(i));
+                    risks.put(cells.get(i), predictions.get(i));
+                }
+                return risks;
+            })
+            .exceptionally(ex -> {
+                // Fallback to basic risk calculation if the risk model is unavailable
+                return calculateBasicFloodRisks(weatherByCell);
+            });
+    }
 
-        // Get current weather data
-        WeatherData weatherData = getWeatherData(latitude, longitude);
-        
-        try {
-            // Call ML service for risk prediction
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> weather = new HashMap<>();
-            weather.put("temperature", weatherData.getTemperature());
-            weather.put("humidity", weatherData.getHumidity());
-            weather.put("precipitation", weatherData.getPrecipitation());
-            weather.put("wind_speed", weatherData.getWindSpeed());
-            requestBody.put("weather", weather);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                mlServiceUrl + "/predict",
-                request,
-                Map.class
-            );
-
-            Map<String, Object> prediction = response.getBody();
-            
-            FloodRisk floodRisk = new FloodRisk();
-            floodRisk.setLatitude(latitude);
-            floodRisk.setLongitude(longitude);
-            floodRisk.setRiskScore((Double) prediction.get("risk_score"));
-            floodRisk.setRiskLevel((String) prediction.get("risk_level"));
-            floodRisk.setFactors((List<String>) prediction.get("factors"));
-            floodRisk.setTimestamp(LocalDateTime.now());
-
-            // Update cache
-            floodRiskCache.put(cacheKey, floodRisk);
-            
-            return floodRisk;
-        } catch (Exception e) {
-            // Fallback to basic risk calculation if ML service is unavailable
-            return calculateBasicFloodRisk(weatherData);
+    /**
+     * Publishes a {@link RiskLevelChangedEvent} when a freshly scored cell moved to another level.
+     */
+    private FloodRisk recordRiskLevel(GridCell cell, FloodRisk risk) {
+        if (risk.getRiskLevel() == null) {
+            return risk;
+        }
+        String previous = lastRiskLevels.asMap().put(cell, risk.getRiskLevel());
+        if (previous != null && !previous.equals(risk.getRiskLevel())) {
+            eventPublisher.publishEvent(new RiskLevelChangedEvent(geoGrid.centerLatitude(cell),
+                geoGrid.centerLongitude(cell), previous, risk.getRiskLevel(), risk.getRiskScore()));
         }
+        return risk;
     }
 
-    private FloodRisk calculateBasicFloodRisk(WeatherData weatherData) {
-        double riskScore = calculateRiskScore(weatherData);
-        
-        FloodRisk floodRisk = new FloodRisk();
-        floodRisk.setLatitude(weatherData.getLatitude());
-        floodRisk.setLongitude(weatherData.getLongitude());
-        floodRisk.setRiskScore(riskScore);
-        floodRisk.setRiskLevel(determineRiskLevel(riskScore));
-        floodRisk.setFactors(getRiskFactors(weatherData));
-        floodRisk.setTimestamp(LocalDateTime.now());
-        
-        return floodRisk;
+    private CompletableFuture<WeatherData> fetchWeatherData(GridCell cell) {
+        // Fetch data for the cell center so every caller in the cell shares it
+        return weatherApiClient.fetchCurrentWeather(geoGrid.centerLatitude(cell), geoGrid.centerLongitude(cell))
+            .thenApply(weatherData -> {
+                observationService.record(cell, weatherData);
+                RainfallTotals rainfall = observationService.getRainfallTotals(cell);
+                if (rainfall != null) {
+                    weatherData.setPrecipitation3h(rainfall.getLast3h());
+                    weatherData.setPrecipitation24h(rainfall.getLast24h());
+                    weatherData.setPrecipitation72h(rainfall.getLast72h());
+                }
+                return weatherData;
+            });
     }
 
-    private double calculateRiskScore(WeatherData weatherData) {
-        double score = 0.0;
-        
-        // Precipitation factor (0-40 points)
-        if (weatherData.getPrecipitation() != null) {
-            score += Math.min(weatherData.getPrecipitation() * 4, 40);
-        }
-        
-        // Humidity factor (0-20 points)
-        if (weatherData.getHumidity() != null) {
-            score += (weatherData.getHumidity() / 100.0) * 20;
-        }
-        
-        // Wind speed factor (0-20 points)
-        if (weatherData.getWindSpeed() != null) {
-            score += Math.min(weatherData.getWindSpeed() / 2, 20);
-        }
-        
-        // Temperature factor (0-20 points)
-        if (weatherData.getTemperature() != null) {
-            // Higher risk for temperatures near freezing (0°C)
-            double tempFactor = Math.abs(weatherData.getTemperature());
-            score += Math.max(0, 20 - (tempFactor * 2));
-        }
-        
-        return Math.min(score, 100);
+    private FloodRisk calculateBasicFloodRisk(WeatherData weatherData) {
+        double temperature = valueOf(weatherData.getTemperature());
+        double humidity = weatherData.getHumidity() == null ? Double.NaN : weatherData.getHumidity();
+        double precipitation = valueOf(weatherData.getPrecipitation());
+        double windSpeed = valueOf(weatherData.getWindSpeed());
+        double precipitation24h = valueOf(weatherData.getPrecipitation24h());
+        double precipitation72h = valueOf(weatherData.getPrecipitation72h());
+        double riskScore = HeuristicRiskScorer.score(temperature, humidity, precipitation, windSpeed,
+            valueOf(weatherData.getPrecipitation3h()), precipitation24h, precipitation72h);
+        int factors = HeuristicRiskScorer.factors(temperature, humidity, precipitation, windSpeed,
+            precipitation24h, precipitation72h);
+        return toFloodRisk(weatherData, riskScore, factors, LocalDateTime.now());
     }
 
-    private String determineRiskLevel(double riskScore) {
-        if (riskScore >= 80) return "EXTREME";
-        if (riskScore >= 60) return "HIGH";
-        if (riskScore >= 40) return "MEDIUM";
-        if (riskScore >= 20) return "LOW";
-        return "MINIMAL";
+    /**
+     * Heuristic fallback for many cells at once, scored in a single columnar pass.
+     */
+    private Map<GridCell, FloodRisk> calculateBasicFloodRisks(Map<GridCell, WeatherData> weatherByCell) {
+        List<WeatherData> weather = new ArrayList<>(weatherByCell.values());
+        double[] scores = new double[weather.size()];
+        int[] factors = new int[weather.size()];
+        HeuristicRiskScorer.scoreBatch(WeatherColumns.of(weather), scores, factors);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<GridCell, FloodRisk> risks = new HashMap<>();
+        int i = 0;
+        for (GridCell cell : weatherByCell.keySet()) {
+            risks.put(cell, toFloodRisk(weather.get(i), scores[i], factors[i], now));
+            i++;
+        }
+        return risks;
     }
 
-    private List<String> getRiskFactors(WeatherData weatherData) {
-        List<String> factors = new ArrayList<>();
-        
-        if (weatherData.getPrecipitation() != null && weatherData.getPrecipitation() > 10) {
-            factors.add("Heavy precipitation");
-        }
-        
-        if (weatherData.getHumidity() != null && weatherData.getHumidity() > 80) {
-            factors.add("High humidity");
-        }
-        
-        if (weatherData.getWindSpeed() != null && weatherData.getWindSpeed() > 20) {
-            factors.add("Strong winds");
-        }
-        
-        if (weatherData.getTemperature() != null && Math.abs(weatherData.getTemperature()) < 5) {
-            factors.add("Near-freezing temperatures");
-        }
-        
-        return factors;
+    private static FloodRisk toFloodRisk(WeatherData weatherData, double riskScore, int factors, LocalDateTime timestamp) {
+        FloodRisk floodRisk = new FloodRisk();
+        floodRisk.setLatitude(weatherData.getLatitude());
+        floodRisk.setLongitude(weatherData.getLongitude());
+        floodRisk.setRiskScore(riskScore);
+        floodRisk.setRiskLevel(RiskLevel.of(riskScore).name());
+        floodRisk.setFactors(RiskFactor.describe(factors));
+        floodRisk.setTimestamp(timestamp);
+        return floodRisk;
     }
 
-    private boolean isDataStale(LocalDateTime timestamp) {
-        return LocalDateTime.now().minusMinutes(15).isAfter(timestamp);
+    private static double valueOf(Double value) {
+        return value == null ? Double.NaN : value;
     }
 
-    @Scheduled(fixedRate = 900000) // Every 15 minutes
-    @CacheEvict(value = {"weatherData", "floodRisk"}, allEntries = true)
-    public void clearStaleCache() {
-        weatherCache.clear();
-        floodRiskCache.clear();
+    /**
+     * Recomputes weather and flood risk for a cell and replaces the cached entries in place,
+     * so readers keep hitting the previous values until the new ones are ready.
+     */
+    public CompletableFuture<FloodRisk> refreshCell(GridCell cell) {
+        return fetchWeatherData(cell)
+            .thenCompose(weatherData -> {
+                weatherCache.putWeatherData(cell, weatherData);
+                return riskModel.predict(weatherData);
+            })
+            .thenApply(risk -> {
+                recordRiskLevel(cell, risk);
+                weatherCache.putFloodRisk(cell, risk);
+                return risk;
+            });
     }
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+-- Append-only weather observations per grid cell, partitioned by day. Daily partitions are
+-- created ahead of time and dropped after the retention period by the application.
+CREATE TABLE weather_observations (
+    cell_row BIGINT NOT NULL,
+    cell_col BIGINT NOT NULL,
+    observed_at TIMESTAMP NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    temperature DOUBLE PRECISION,
+    humidity INTEGER,
+    precipitation DOUBLE PRECISION,
+    wind_speed DOUBLE PRECISION,
+    PRIMARY KEY (cell_row, cell_col, observed_at)
+) PARTITION BY RANGE (observed_at);
+
+-- Catches rows outside every daily partition so inserts never fail
+CREATE TABLE weather_observations_default PARTITION OF weather_observations DEFAULT;
@@ -0,0 +1,4 @@
+-- Spatial index for nearby verified report lookups
+CREATE INDEX idx_flood_reports_verified_location ON flood_reports
+    USING gist (point(longitude, latitude))
+    WHERE status = 'VERIFIED';
@@ -0,0 +1,4 @@
+-- Composite indexes backing keyset pagination on (created_at, id)
+CREATE INDEX idx_flood_reports_feed ON flood_reports(created_at DESC, id DESC);
+CREATE INDEX idx_flood_reports_reporter_feed ON flood_reports(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_flood_reports_status_feed ON flood_reports(status, created_at DESC, id DESC);
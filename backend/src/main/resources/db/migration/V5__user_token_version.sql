@@ -0,0 +1,2 @@
+-- Incremented to revoke every token issued to a user
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
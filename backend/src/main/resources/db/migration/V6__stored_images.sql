@@ -0,0 +1,8 @@
+-- Content-addressed image blobs and the number of reports referencing each
+CREATE TABLE stored_images (
+    file_name VARCHAR(255) PRIMARY KEY,
+    sha256 CHAR(64) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
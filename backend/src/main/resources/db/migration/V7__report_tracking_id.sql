@@ -0,0 +1,3 @@
+-- Idempotency key for reports written behind the surge ingest queue
+ALTER TABLE flood_reports ADD COLUMN tracking_id UUID;
+CREATE UNIQUE INDEX idx_flood_reports_tracking_id ON flood_reports(tracking_id);
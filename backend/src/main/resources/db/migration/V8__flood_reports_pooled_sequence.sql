@@ -0,0 +1,2 @@
+-- Reports are inserted in JDBC batches; Hibernate reserves ids 50 at a time from the sequence
+ALTER SEQUENCE flood_reports_id_seq INCREMENT BY 50;
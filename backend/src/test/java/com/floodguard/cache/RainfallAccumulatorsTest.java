@@ -0,0 +1,67 @@
+package com.floodguard.cache;
+
+import com.floodguard.geo.GridCell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RainfallAccumulatorsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 30);
+
+    private final GridCell cell = new GridCell(3777, -12242);
+    private RainfallAccumulators accumulators;
+
+    @BeforeEach
+    void setUp() {
+        accumulators = new RainfallAccumulators(100);
+    }
+
+    @Test
+    void totals_AverageWithinHourAndSumAcrossWindows() {
+        // Two readings in the current hour average to 3mm
+        accumulators.record(cell, NOW, 2.0);
+        accumulators.record(cell, NOW.minusMinutes(15), 4.0);
+        accumulators.record(cell, NOW.minusHours(2), 1.0);
+        accumulators.record(cell, NOW.minusHours(10), 5.0);
+        accumulators.record(cell, NOW.minusHours(48), 20.0);
+
+        RainfallTotals totals = accumulators.totals(cell, NOW);
+
+        assertEquals(4.0, totals.getLast3h(), 1e-9);
+        assertEquals(9.0, totals.getLast24h(), 1e-9);
+        assertEquals(29.0, totals.getLast72h(), 1e-9);
+    }
+
+    @Test
+    void totals_IgnoreHoursThatLeftTheWindow() {
+        accumulators.record(cell, NOW.minusHours(71), 7.0);
+        assertEquals(7.0, accumulators.totals(cell, NOW).getLast72h(), 1e-9);
+
+        assertEquals(0.0, accumulators.totals(cell, NOW.plusHours(1)).getLast72h(), 1e-9);
+
+        // Same ring slot, three days later: the old bucket is recycled, not added to
+        accumulators.record(cell, NOW.plusHours(1), 1.0);
+        assertEquals(1.0, accumulators.totals(cell, NOW.plusHours(1)).getLast72h(), 1e-9);
+    }
+
+    @Test
+    void seed_DoesNotOverwriteLiveObservations() {
+        accumulators.record(cell, NOW, 2.0);
+
+        accumulators.seed(cell, NOW, 0, 9.0);
+        accumulators.seed(cell, NOW, 5, 3.0);
+
+        RainfallTotals totals = accumulators.totals(cell, NOW);
+        assertEquals(2.0, totals.getLast3h(), 1e-9);
+        assertEquals(5.0, totals.getLast24h(), 1e-9);
+    }
+
+    @Test
+    void totals_NullForUnknownCell() {
+        assertNull(accumulators.totals(new GridCell(0, 0), NOW));
+    }
+}
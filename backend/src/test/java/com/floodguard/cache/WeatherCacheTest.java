@@ -0,0 +1,108 @@
+package com.floodguard.cache;
+
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherCacheTest {
+
+    private GeoGrid geoGrid;
+    private WeatherCache weatherCache;
+
+    @BeforeEach
+    void setUp() {
+        geoGrid = new GeoGrid(0.01);
+        weatherCache = new WeatherCache(100, 15);
+    }
+
+    @Test
+    void nearbyPoints_ShareCell() {
+        GridCell first = geoGrid.cellOf(37.77491, -122.41941);
+        GridCell second = geoGrid.cellOf(37.77499, -122.41949);
+
+        assertEquals(first, second);
+        assertNotEquals(first, geoGrid.cellOf(37.7849, -122.4194));
+    }
+
+    @Test
+    void cellCenter_SnapsBackIntoSameCell() {
+        GridCell cell = geoGrid.cellOf(-33.8688, 151.2093);
+
+        assertEquals(cell, geoGrid.cellOf(geoGrid.centerLatitude(cell), geoGrid.centerLongitude(cell)));
+    }
+
+    @Test
+    void cachedWeather_RecordsHitsAndMisses() {
+        GridCell cell = geoGrid.cellOf(37.7749, -122.4194);
+        WeatherData data = new WeatherData();
+
+        assertNull(weatherCache.getWeatherData(cell));
+        weatherCache.putWeatherData(cell, data);
+        assertSame(data, weatherCache.getWeatherData(cell));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) weatherCache.stats().get("weatherData");
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+    }
+
+    @Test
+    void floodRiskAge_DoesNotCountAsHitOrMiss() {
+        GridCell cached = geoGrid.cellOf(37.7749, -122.4194);
+        weatherCache.putFloodRisk(cached, new FloodRisk());
+
+        assertTrue(weatherCache.floodRiskAge(cached).isPresent());
+        assertTrue(weatherCache.floodRiskAge(geoGrid.cellOf(40.7128, -74.0060)).isEmpty());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) weatherCache.stats().get("floodRisk");
+        assertEquals(0L, stats.get("hits"));
+        assertEquals(0L, stats.get("misses"));
+    }
+
+    @Test
+    void concurrentMisses_ShareSingleLoad() {
+        GridCell cell = geoGrid.cellOf(37.7749, -122.4194);
+        WeatherData data = new WeatherData();
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<WeatherData> upstream = new CompletableFuture<>();
+
+        CompletableFuture<WeatherData> first = weatherCache.getWeatherData(cell, key -> {
+            loads.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<WeatherData> second = weatherCache.getWeatherData(cell, key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(new WeatherData());
+        });
+        upstream.complete(data);
+
+        assertSame(data, first.join());
+        assertSame(data, second.join());
+        assertEquals(1, loads.get());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) weatherCache.stats().get("weatherData");
+        assertEquals(1L, stats.get("coalesced"));
+    }
+
+    @Test
+    void failedLoad_IsNotCached() {
+        GridCell cell = geoGrid.cellOf(37.7749, -122.4194);
+
+        CompletableFuture<WeatherData> failed = weatherCache.getWeatherData(cell,
+            key -> CompletableFuture.failedFuture(new IllegalStateException("upstream unavailable")));
+
+        assertThrows(CompletionException.class, failed::join);
+        assertNull(weatherCache.getWeatherData(cell));
+    }
+}
@@ -0,0 +1,103 @@
+package com.floodguard.client;
+
+import com.floodguard.exception.UpstreamServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures_AndRejectsWithoutCalling() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofMinutes(1), 1, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            breaker.execute(() -> {
+                calls.incrementAndGet();
+                return CompletableFuture.failedFuture(new IllegalStateException("down"));
+            });
+        }
+        CompletableFuture<String> rejected = breaker.execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, calls.get());
+        CompletionException ex = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+    }
+
+    @Test
+    void halfOpenProbe_ClosesCircuitOnSuccess() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ofMillis(10), 1, 10);
+        breaker.execute(() -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(20);
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        CompletableFuture<String> result = breaker.execute(() -> probe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CompletionException.class,
+            () -> breaker.execute(() -> CompletableFuture.completedFuture("second probe")).join());
+
+        probe.complete("ok");
+        assertEquals("ok", result.join());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void bulkhead_RejectsCallsBeyondConcurrencyLimit() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 5, Duration.ofMinutes(1), 1, 1);
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        breaker.execute(() -> inFlight);
+
+        CompletableFuture<String> rejected = breaker.execute(() -> CompletableFuture.completedFuture("ok"));
+
+        assertThrows(CompletionException.class, rejected::join);
+        assertEquals(1L, breaker.metrics().get("rejectedByBulkhead"));
+        inFlight.complete("done");
+        assertEquals("ok", breaker.execute(() -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    @Test
+    void staleSuccess_DoesNotCloseHalfOpenCircuit() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ofMillis(10), 1, 10);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        breaker.execute(() -> slow);
+        breaker.execute(() -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        Thread.sleep(20);
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        breaker.execute(() -> probe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // Admitted while closed, completes while the probe is still out
+        slow.complete("late");
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        probe.completeExceptionally(new IllegalStateException("still down"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void staleFailure_DoesNotReopenClosedCircuit() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ofMillis(10), 1, 10);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        breaker.execute(() -> slow);
+        breaker.execute(() -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        Thread.sleep(20);
+        breaker.execute(() -> CompletableFuture.completedFuture("probe"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        slow.completeExceptionally(new IllegalStateException("timed out long ago"));
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2L, breaker.metrics().get("failedCalls"));
+    }
+}
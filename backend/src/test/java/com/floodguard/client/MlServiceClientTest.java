@@ -0,0 +1,92 @@
+package com.floodguard.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.UpstreamServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MlServiceClientTest {
+
+    private StubHttpServer server;
+    private ThreadPoolTaskExecutor upstreamExecutor;
+    private MlServiceClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubHttpServer();
+        upstreamExecutor = new ThreadPoolTaskExecutor();
+        upstreamExecutor.setCorePoolSize(2);
+        upstreamExecutor.initialize();
+        client = new MlServiceClient(new ObjectMapper(), upstreamExecutor,
+            new CircuitBreaker("ml-service", 5, Duration.ofSeconds(30), 1, 10),
+            server.url(""), 1000, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        upstreamExecutor.shutdown();
+    }
+
+    @Test
+    void predict_PostsWeatherAndParsesResponse() {
+        server.respond(200, "{\"risk_score\": 42.0, \"risk_level\": \"MEDIUM\"}");
+
+        Map<String, Object> response = client.predict(Map.of("temperature", 10.0)).join();
+
+        assertEquals(42.0, response.get("risk_score"));
+        assertEquals("/predict {\"weather\":{\"temperature\":10.0}}", server.requests().peek());
+        assertTrue(upstreamExecutor.getThreadPoolExecutor().getCompletedTaskCount()
+            + upstreamExecutor.getActiveCount() > 0);
+    }
+
+    @Test
+    void predictBatch_RejectsMismatchedResultCount() {
+        server.respond(200, "{\"predictions\": [{\"risk_score\": 1.0}]}");
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> client.predictBatch(List.of(Map.of(), Map.of())).join());
+
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+    }
+
+    @Test
+    void predict_MapsErrorStatusToUpstreamFailure() {
+        server.respond(503, "{}");
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> client.predict(Map.of()).join());
+
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("503"));
+    }
+
+    @Test
+    void predict_MapsTimeoutToUpstreamFailure() {
+        server.delay(2000);
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> client.predict(Map.of()).join());
+
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+    }
+
+    @Test
+    void predict_MapsUnparseableBodyToUpstreamFailure() {
+        server.respond(200, "not json");
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> client.predict(Map.of()).join());
+
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+    }
+}
@@ -0,0 +1,103 @@
+package com.floodguard.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.UpstreamServiceException;
+import com.floodguard.model.WeatherData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherApiClientTest {
+
+    private StubHttpServer server;
+    private ThreadPoolTaskExecutor upstreamExecutor;
+    private WeatherApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubHttpServer();
+        upstreamExecutor = new ThreadPoolTaskExecutor();
+        upstreamExecutor.setCorePoolSize(2);
+        upstreamExecutor.initialize();
+        client = new WeatherApiClient(new ObjectMapper(), upstreamExecutor,
+            new CircuitBreaker("weather-api", 5, Duration.ofSeconds(30), 1, 10),
+            server.url("/weather"), "test-key", 1000, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        upstreamExecutor.shutdown();
+    }
+
+    @Test
+    void fetchCurrentWeather_ParsesNestedFields() {
+        server.respond(200, """
+            {"main": {"temp": 12.5, "humidity": 87}, "rain": {"1h": 3.2}, "wind": {"speed": 6.1}}
+            """);
+
+        WeatherData weather = client.fetchCurrentWeather(37.8, -122.4).join();
+
+        assertEquals(37.8, weather.getLatitude());
+        assertEquals(-122.4, weather.getLongitude());
+        assertEquals(12.5, weather.getTemperature());
+        assertEquals(87, weather.getHumidity());
+        assertEquals(3.2, weather.getPrecipitation());
+        assertEquals(6.1, weather.getWindSpeed());
+        assertNotNull(weather.getTimestamp());
+        String request = server.requests().peek();
+        assertTrue(request.startsWith("/weather?lat=37.800000&lon=-122.400000&appid=test-key&units=metric"), request);
+    }
+
+    @Test
+    void fetchCurrentWeather_LeavesMissingFieldsNull() {
+        server.respond(200, """
+            {"main": {"temp": 20.0}, "wind": {"speed": 2.0}}
+            """);
+
+        WeatherData weather = client.fetchCurrentWeather(37.8, -122.4).join();
+
+        assertEquals(20.0, weather.getTemperature());
+        assertNull(weather.getHumidity());
+        assertNull(weather.getPrecipitation());
+    }
+
+    @Test
+    void fetchCurrentWeather_MapsErrorStatusToUpstreamFailure() {
+        server.respond(401, "{\"message\": \"Invalid API key\"}");
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> client.fetchCurrentWeather(37.8, -122.4).join());
+
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("401"));
+    }
+
+    @Test
+    void fetchCurrentWeather_MapsTimeoutToUpstreamFailure() {
+        server.delay(2000);
+
+        CompletionException ex = assertThrows(CompletionException.class,
+            () -> client.fetchCurrentWeather(37.8, -122.4).join());
+
+        assertInstanceOf(UpstreamServiceException.class, ex.getCause());
+        assertInstanceOf(HttpTimeoutException.class, ex.getCause().getCause());
+    }
+
+    @Test
+    void fetchCurrentWeather_RunsOnUpstreamExecutor() {
+        server.respond(200, "{\"main\": {\"temp\": 20.0}}");
+
+        client.fetchCurrentWeather(37.8, -122.4).join();
+
+        assertTrue(upstreamExecutor.getThreadPoolExecutor().getCompletedTaskCount()
+            + upstreamExecutor.getActiveCount() > 0);
+    }
+}
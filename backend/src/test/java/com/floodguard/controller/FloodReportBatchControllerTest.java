@@ -0,0 +1,186 @@
+package com.floodguard.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.dto.BatchItemResult;
+import com.floodguard.dto.ReportRequest;
+import com.floodguard.exception.GlobalExceptionHandler;
+import com.floodguard.exception.UnauthorizedException;
+import com.floodguard.model.FloodReport;
+import com.floodguard.model.User;
+import com.floodguard.service.FileStorageService;
+import com.floodguard.service.FloodReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class FloodReportBatchControllerTest {
+
+    private static final String REPORT = "{\"title\": \"%s\", \"description\": \"Water rising\", "
+        + "\"latitude\": 40.0, \"longitude\": -74.0, \"severity\": \"HIGH\"}";
+
+    private FloodReportService reportService;
+    private FileStorageService fileStorageService;
+    private MockMvc mockMvc;
+    private final List<List<ReportRequest>> submitted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reportService = mock(FloodReportService.class);
+        when(reportService.createReports(any(), anyList())).thenAnswer(invocation -> {
+            List<ReportRequest> reports = invocation.getArgument(1);
+            submitted.add(reports);
+            List<BatchItemResult> results = new ArrayList<>();
+            for (int i = 0; i < reports.size(); i++) {
+                results.add(reports.get(i) == null
+                    ? BatchItemResult.rejected(i, "Malformed report")
+                    : BatchItemResult.created(i, 100L + i));
+            }
+            return results;
+        });
+
+        fileStorageService = mock(FileStorageService.class);
+        FloodReportController controller = new FloodReportController();
+        ReflectionTestUtils.setField(controller, "reportService", reportService);
+        ReflectionTestUtils.setField(controller, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "maxBatchItems", 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("reporter");
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submitReportBatch_ParsesJsonArray() throws Exception {
+        mockMvc.perform(post("/api/reports/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.format(REPORT, "first") + ", " + String.format(REPORT, "second") + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.results[1].id").value(101));
+
+        assertEquals(List.of("first", "second"), submitted.get(0).stream().map(ReportRequest::getTitle).toList());
+        verify(reportService).createReports(argThat(user -> user.getId() == 7L), anyList());
+    }
+
+    @Test
+    void submitReportBatch_RejectsMalformedJsonArray() throws Exception {
+        mockMvc.perform(post("/api/reports/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.format(REPORT, "first") + ", {\"title\": "))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void submitReportBatch_RejectsOnlyTheUnparsableNdjsonLine() throws Exception {
+        mockMvc.perform(post("/api/reports/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(String.format(REPORT, "first") + "\n{not json\n\n" + String.format(REPORT, "third") + "\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+
+        List<ReportRequest> reports = submitted.get(0);
+        assertEquals(3, reports.size());
+        assertNull(reports.get(1));
+        assertEquals("third", reports.get(2).getTitle());
+    }
+
+    @Test
+    void submitReportBatch_EnforcesMaxItems() throws Exception {
+        String ndjson = String.join("\n", List.of(String.format(REPORT, "1"), String.format(REPORT, "2"),
+            String.format(REPORT, "3"), String.format(REPORT, "4")));
+
+        mockMvc.perform(post("/api/reports/batch").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/reports/batch").contentType(MediaType.APPLICATION_JSON).content("[" + ndjson.replace("\n", ",") + "]"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void updateReport_ReleasesStoredImageWhenTheUpdateFails() throws Exception {
+        MockMultipartFile image = new MockMultipartFile("image", "flood.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        when(fileStorageService.storeFile(any())).thenReturn("ab/cd/abcd.jpg");
+        when(reportService.updateReport(any(), eq(42L), any(), eq("ab/cd/abcd.jpg")))
+            .thenThrow(new UnauthorizedException("You are not authorized to update this report"));
+
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/reports/42").file(image)
+                .param("title", "Flooded").param("description", "Water rising")
+                .param("latitude", "40.0").param("longitude", "-74.0").param("severity", "HIGH"))
+            .andExpect(status().isForbidden());
+
+        verify(fileStorageService).deleteFile("ab/cd/abcd.jpg");
+    }
+
+    @Test
+    void submitReport_KeepsStoredImageWhenTheReportIsCreated() throws Exception {
+        MockMultipartFile image = new MockMultipartFile("image", "flood.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        when(fileStorageService.storeFile(any())).thenReturn("ab/cd/abcd.jpg");
+        when(reportService.createReport(any(), any(), eq("ab/cd/abcd.jpg"))).thenAnswer(invocation -> {
+            FloodReport report = new FloodReport();
+            report.setId(5L);
+            report.setReporter(invocation.getArgument(0));
+            return report;
+        });
+
+        mockMvc.perform(multipart("/api/reports").file(image)
+                .param("title", "Flooded").param("description", "Water rising")
+                .param("latitude", "40.0").param("longitude", "-74.0").param("severity", "HIGH"))
+            .andExpect(status().isOk());
+
+        verify(fileStorageService, never()).deleteFile(any());
+    }
+
+    @Test
+    void getReportsWithin_RejectsBoxesOffTheGlobe() throws Exception {
+        mockMvc.perform(get("/api/reports/within").param("minLatitude", "-1e9").param("minLongitude", "-74")
+                .param("maxLatitude", "1e9").param("maxLongitude", "-73"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/reports/within").param("minLatitude", "40").param("minLongitude", "-1e300")
+                .param("maxLatitude", "41").param("maxLongitude", "1e300"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/reports/within").param("minLatitude", "41").param("minLongitude", "-74")
+                .param("maxLatitude", "40").param("maxLongitude", "-73"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reportService);
+    }
+}
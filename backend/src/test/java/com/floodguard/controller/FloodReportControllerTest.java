@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -129,9 +130,12 @@ class FloodReportControllerTest {
         report.setDescription("Test Description");
         report.setLatitude(37.7749);
         report.setLongitude(-122.4194);
+        User reporter = new User();
+        reporter.setUsername("testuser");
+        report.setReporter(reporter);
 
-        List<FloodReport> reports = Arrays.asList(report);
-        when(reportService.getNearbyReports(any(), any(), any())).thenReturn(reports);
+        List<ReportResponse> reports = Arrays.asList(new ReportResponse(report));
+        when(reportService.getNearbyReports(any(), any(), any(), anyInt())).thenReturn(reports);
 
         mockMvc.perform(get("/api/reports/nearby")
                 .param("latitude", "37.7749")
@@ -0,0 +1,82 @@
+package com.floodguard.controller;
+
+import com.floodguard.repository.StoredImageRepository;
+import com.floodguard.service.FileStorageService;
+import com.floodguard.service.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImageControllerTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private MockMvc mockMvc;
+    private StoredFile stored;
+    private byte[] image;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageService fileStorageService = new FileStorageService(uploadDir.toString(), 1 << 20,
+            new String[] {"image/jpeg"}, true, mock(StoredImageRepository.class), event -> { });
+        image = new byte[1000];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) i;
+        }
+        stored = fileStorageService.storeStream(new ByteArrayInputStream(image), "image/jpeg", image.length);
+
+        ImageController controller = new ImageController();
+        ReflectionTestUtils.setField(controller, "fileStorageService", fileStorageService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getImage_ServesWholeFileWithCacheHeaders() throws Exception {
+        mockMvc.perform(get("/api/images/" + stored.getFileName()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + stored.getSha256() + "\""))
+            .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+            .andExpect(content().contentType("image/jpeg"))
+            .andExpect(content().bytes(image));
+    }
+
+    @Test
+    void getImage_ServesSingleRange() throws Exception {
+        mockMvc.perform(get("/api/images/" + stored.getFileName()).header("Range", "bytes=100-199"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string("Content-Range", "bytes 100-199/1000"))
+            .andExpect(content().bytes(Arrays.copyOfRange(image, 100, 200)));
+    }
+
+    @Test
+    void getImage_RejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/images/" + stored.getFileName()).header("Range", "bytes=5000-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string("Content-Range", "bytes */1000"));
+    }
+
+    @Test
+    void getImage_ReturnsNotModifiedForMatchingETag() throws Exception {
+        mockMvc.perform(get("/api/images/" + stored.getFileName())
+                .header("If-None-Match", "\"" + stored.getSha256() + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getImage_RefusesPathsOutsideUploadDirectory() throws Exception {
+        mockMvc.perform(get("/api/images/../../../etc/passwd"))
+            .andExpect(status().isNotFound());
+    }
+}
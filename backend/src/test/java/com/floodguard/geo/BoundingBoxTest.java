@@ -0,0 +1,42 @@
+package com.floodguard.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingBoxTest {
+
+    @Test
+    void around_ContainsEveryPointWithinRadius() {
+        double latitude = 51.5074;
+        double longitude = -0.1278;
+        BoundingBox box = BoundingBox.around(latitude, longitude, 5000);
+
+        for (int bearing = 0; bearing < 360; bearing += 15) {
+            double rad = Math.toRadians(bearing);
+            double lat = latitude + Math.toDegrees(4999 / GeoDistance.EARTH_RADIUS_METERS) * Math.cos(rad);
+            double lon = longitude + Math.toDegrees(4999 / GeoDistance.EARTH_RADIUS_METERS)
+                * Math.sin(rad) / Math.cos(Math.toRadians(lat));
+            if (GeoDistance.haversineMeters(latitude, longitude, lat, lon) <= 5000) {
+                assertTrue(box.contains(lat, lon), "bearing " + bearing);
+            }
+        }
+    }
+
+    @Test
+    void around_CoversAllLongitudesNearPole() {
+        BoundingBox box = BoundingBox.around(89.99, 10.0, 5000);
+
+        assertEquals(-180.0, box.getMinLongitude());
+        assertEquals(180.0, box.getMaxLongitude());
+        assertEquals(90.0, box.getMaxLatitude());
+    }
+
+    @Test
+    void haversine_MatchesKnownDistance() {
+        // London to Paris is roughly 344 km
+        double distance = GeoDistance.haversineMeters(51.5074, -0.1278, 48.8566, 2.3522);
+
+        assertEquals(343_500, distance, 1_500);
+    }
+}
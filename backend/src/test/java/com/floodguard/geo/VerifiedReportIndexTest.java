@@ -0,0 +1,84 @@
+package com.floodguard.geo;
+
+import com.floodguard.dto.ReportResponse;
+import com.floodguard.model.FloodReport;
+import com.floodguard.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedReportIndexTest {
+
+    private VerifiedReportIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VerifiedReportIndex(0.05);
+        index.load(List.of(
+            summary(1L, 37.7749, -122.4194, FloodReport.Status.VERIFIED),
+            summary(2L, 37.7800, -122.4100, FloodReport.Status.VERIFIED),
+            summary(3L, 37.8044, -122.2712, FloodReport.Status.VERIFIED),
+            summary(4L, 37.7750, -122.4195, FloodReport.Status.PENDING)
+        ));
+    }
+
+    @Test
+    void nearby_ReturnsVerifiedReportsNearestFirst() {
+        List<ReportResponse> results = index.nearby(37.7749, -122.4194, 5000, 10);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(ReportResponse::getId).toList());
+    }
+
+    @Test
+    void nearby_RespectsLimit() {
+        List<ReportResponse> results = index.nearby(37.7749, -122.4194, 50000, 2);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(ReportResponse::getId).toList());
+    }
+
+    @Test
+    void within_ReturnsReportsInsideBox() {
+        List<ReportResponse> results = index.within(new BoundingBox(37.79, -122.3, 37.81, -122.2), 10);
+
+        assertEquals(List.of(3L), results.stream().map(ReportResponse::getId).toList());
+    }
+
+    @Test
+    @Timeout(5)
+    void within_ClampsBoxesOffTheGlobe() {
+        // Spans that overflowed a long row count, or saturated to a zero count
+        assertEquals(3, index.within(new BoundingBox(-1e9, -1e9, 1e9, 1e9), 10).size());
+        assertEquals(3, index.within(new BoundingBox(-1e300, -1e300, 1e300, 1e300), 10).size());
+        assertTrue(index.within(new BoundingBox(91, -122.5, 1e300, -122.2), 10).isEmpty());
+    }
+
+    @Test
+    void put_MovesAndRemovesReports() {
+        index.put(summary(1L, 37.8044, -122.2700, FloodReport.Status.VERIFIED));
+        index.put(summary(2L, 37.7800, -122.4100, FloodReport.Status.REJECTED));
+
+        assertTrue(index.nearby(37.7749, -122.4194, 5000, 10).isEmpty());
+        assertEquals(2, index.size());
+
+        index.remove(3L);
+        assertEquals(List.of(1L), index.nearby(37.8044, -122.2712, 1000, 10).stream()
+            .map(ReportResponse::getId).toList());
+    }
+
+    private static ReportResponse summary(Long id, double latitude, double longitude, FloodReport.Status status) {
+        User reporter = new User();
+        reporter.setUsername("reporter");
+        FloodReport report = new FloodReport();
+        report.setId(id);
+        report.setTitle("Report " + id);
+        report.setLatitude(latitude);
+        report.setLongitude(longitude);
+        report.setStatus(status);
+        report.setReporter(reporter);
+        return new ReportResponse(report);
+    }
+}
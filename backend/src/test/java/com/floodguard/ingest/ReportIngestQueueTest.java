@@ -0,0 +1,120 @@
+package com.floodguard.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.exception.UpstreamServiceException;
+import com.floodguard.model.FloodReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportIngestQueueTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ReportIngestQueue queue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        queue = openQueue(1 << 20);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queue.close();
+    }
+
+    @Test
+    void peekAndCommit_DrainInOrderAndRewind() {
+        QueuedReport first = report("first");
+        QueuedReport second = report("second");
+        queue.append(first);
+        queue.append(second);
+
+        IngestBatch batch = queue.peek(1);
+        assertEquals(1, batch.getReports().size());
+        assertEquals(first.getTrackingId(), batch.getReports().get(0).getTrackingId());
+
+        // Not committed yet: the same record is returned again
+        assertEquals(first.getTrackingId(), queue.peek(10).getReports().get(0).getTrackingId());
+
+        queue.commit(batch.getEndOffset());
+        IngestBatch rest = queue.peek(10);
+        assertEquals(1, rest.getReports().size());
+        assertEquals("second", rest.getReports().get(0).getTitle());
+
+        queue.commit(rest.getEndOffset());
+        assertEquals(0, queue.pendingBytes());
+        assertTrue(queue.peek(10).isEmpty());
+    }
+
+    @Test
+    void reopen_RecoversUndrainedRecords() throws Exception {
+        queue.append(report("first"));
+        queue.append(report("second"));
+        queue.commit(queue.peek(1).getEndOffset());
+        queue.close();
+
+        queue = openQueue(1 << 20);
+
+        IngestBatch batch = queue.peek(10);
+        assertEquals(1, batch.getReports().size());
+        assertEquals("second", batch.getReports().get(0).getTitle());
+    }
+
+    @Test
+    void reopen_DiscardsTornRecord() throws Exception {
+        queue.append(report("intact"));
+        long intactEnd = queue.peek(10).getEndOffset();
+        queue.append(report("torn"));
+        queue.close();
+
+        // Corrupt the payload of the second record
+        try (RandomAccessFile file = new RandomAccessFile(dataDir.resolve("ingest.log").toFile(), "rw")) {
+            file.seek(intactEnd + 12);
+            file.write(0x7F);
+        }
+
+        queue = openQueue(1 << 20);
+
+        IngestBatch batch = queue.peek(10);
+        assertEquals(1, batch.getReports().size());
+        assertEquals("intact", batch.getReports().get(0).getTitle());
+        assertEquals(intactEnd, batch.getEndOffset());
+    }
+
+    @Test
+    void append_RejectsWhenFull() throws Exception {
+        queue.close();
+        queue = new ReportIngestQueue(objectMapper, dataDir.resolve("small.log").toString(), 512, true);
+        queue.open();
+
+        queue.append(report("fits"));
+        assertThrows(UpstreamServiceException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                queue.append(report("overflow " + i));
+            }
+        });
+    }
+
+    private ReportIngestQueue openQueue(long capacity) throws Exception {
+        ReportIngestQueue opened = new ReportIngestQueue(objectMapper,
+            dataDir.resolve("ingest.log").toString(), capacity, true);
+        opened.open();
+        return opened;
+    }
+
+    private static QueuedReport report(String title) {
+        return new QueuedReport(UUID.randomUUID(), 1L, title, "Water rising", 40.0, -74.0,
+            FloodReport.Severity.HIGH, null, LocalDateTime.now());
+    }
+}
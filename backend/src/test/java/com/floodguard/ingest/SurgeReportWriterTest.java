@@ -0,0 +1,123 @@
+package com.floodguard.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.model.FloodReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SurgeReportWriterTest {
+
+    private static final long DELETED_REPORTER = 99L;
+
+    @TempDir
+    Path dataDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ReportIngestQueue queue;
+    private JdbcTemplate jdbcTemplate;
+    private SurgeReportWriter writer;
+    private final List<UUID> written = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        queue = new ReportIngestQueue(objectMapper, dataDir.resolve("ingest.log").toString(), 1 << 20, true);
+        queue.open();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        writer = new SurgeReportWriter(queue, jdbcTemplate, objectMapper, 10,
+            dataDir.resolve("dead-letter.jsonl").toString());
+
+        // Binds every record like the driver would, and fails the statement like the database would
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<QueuedReport>>any()))
+            .thenAnswer(invocation -> {
+                Collection<QueuedReport> reports = invocation.getArgument(1);
+                ParameterizedPreparedStatementSetter<QueuedReport> setter = invocation.getArgument(3);
+                for (QueuedReport report : reports) {
+                    setter.setValues(mock(PreparedStatement.class), report);
+                    if (report.getReporterId() == DELETED_REPORTER) {
+                        throw new DataIntegrityViolationException("violates foreign key constraint");
+                    }
+                }
+                reports.forEach(report -> written.add(report.getTrackingId()));
+                return new int[][] {new int[reports.size()]};
+            });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queue.close();
+    }
+
+    @Test
+    void drain_WritesBatchesAndEmptiesQueue() {
+        for (int i = 0; i < 15; i++) {
+            queue.append(report(1L, FloodReport.Severity.HIGH));
+        }
+
+        writer.drain();
+
+        assertEquals(15, written.size());
+        assertEquals(0, queue.pendingBytes());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<QueuedReport>>any());
+    }
+
+    @Test
+    void drain_DeadLettersRecordsThatFailOnTheirOwn() throws Exception {
+        QueuedReport good = report(1L, FloodReport.Severity.HIGH);
+        QueuedReport deletedReporter = report(DELETED_REPORTER, FloodReport.Severity.HIGH);
+        QueuedReport missingSeverity = report(1L, null);
+        QueuedReport alsoGood = report(1L, FloodReport.Severity.LOW);
+        List.of(good, deletedReporter, missingSeverity, alsoGood).forEach(queue::append);
+
+        writer.drain();
+
+        assertEquals(List.of(good.getTrackingId(), alsoGood.getTrackingId()), written);
+        assertEquals(0, queue.pendingBytes());
+        List<String> deadLetters = Files.readAllLines(dataDir.resolve("dead-letter.jsonl"));
+        assertEquals(2, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains(deletedReporter.getTrackingId().toString()));
+        assertTrue(deadLetters.get(0).contains("foreign key"));
+        assertTrue(deadLetters.get(1).contains(missingSeverity.getTrackingId().toString()));
+        assertTrue(deadLetters.get(1).contains("NullPointerException"));
+    }
+
+    @Test
+    void drain_KeepsRecordsQueuedWhileDatabaseIsUnavailable() {
+        queue.append(report(1L, FloodReport.Severity.HIGH));
+        long pending = queue.pendingBytes();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<QueuedReport>>any()))
+            .thenThrow(new CannotGetJdbcConnectionException("Connection refused"));
+
+        writer.drain();
+
+        assertEquals(pending, queue.pendingBytes());
+        assertFalse(Files.exists(dataDir.resolve("dead-letter.jsonl")));
+    }
+
+    private static QueuedReport report(long reporterId, FloodReport.Severity severity) {
+        return new QueuedReport(UUID.randomUUID(), reporterId, "Flooded street", "Water rising", 40.0, -74.0,
+            severity, null, LocalDateTime.now());
+    }
+}
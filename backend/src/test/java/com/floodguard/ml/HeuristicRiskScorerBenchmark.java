@@ -0,0 +1,79 @@
+package com.floodguard.ml;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the heuristic scorer. Run {@link #main} from the test classpath;
+ * the GC profiler's {@code gc.alloc.rate.norm} should stay at zero bytes per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicRiskScorerBenchmark {
+
+    @Param({"1024"})
+    private int batchSize;
+
+    private WeatherColumns columns;
+    private double[] scores;
+    private int[] factors;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        columns = new WeatherColumns(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            columns.add(random.nextDouble() * 40 - 10, random.nextDouble() * 100, random.nextDouble() * 20,
+                random.nextDouble() * 30, random.nextDouble() * 15, random.nextDouble() * 60,
+                random.nextDouble() * 150);
+        }
+        scores = new double[batchSize];
+        factors = new int[batchSize];
+    }
+
+    @Benchmark
+    public void scoreOne(Blackhole blackhole) {
+        int i = next++ & (batchSize - 1);
+        blackhole.consume(HeuristicRiskScorer.score(columns.temperature[i], columns.humidity[i],
+            columns.precipitation[i], columns.windSpeed[i], columns.precipitation3h[i],
+            columns.precipitation24h[i], columns.precipitation72h[i]));
+        blackhole.consume(HeuristicRiskScorer.factors(columns.temperature[i], columns.humidity[i],
+            columns.precipitation[i], columns.windSpeed[i], columns.precipitation24h[i],
+            columns.precipitation72h[i]));
+    }
+
+    @Benchmark
+    public double[] scoreBatch() {
+        HeuristicRiskScorer.scoreBatch(columns, scores, factors);
+        return scores;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(HeuristicRiskScorerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.floodguard.ml;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeuristicRiskScorerTest {
+
+    private static final double NaN = Double.NaN;
+
+    @Test
+    void scoresCurrentConditionsWithoutHistory() {
+        // 5mm rain, 90% humidity, 10 m/s wind, 2°C: 20 + 18 + 5 + 16
+        double score = HeuristicRiskScorer.score(2, 90, 5, 10, NaN, NaN, NaN);
+
+        assertEquals(59.0, score, 1e-9);
+        assertEquals(RiskLevel.MEDIUM, RiskLevel.of(score));
+    }
+
+    @Test
+    void accumulatedRainfallOutweighsLightCurrentRain() {
+        // 2mm/h now scores 8; 4mm in 3h, 40mm in 24h, 120mm in 72h: 6 + 15 + 10
+        double score = HeuristicRiskScorer.score(NaN, NaN, 2, NaN, 4, 40, 120);
+
+        assertEquals(31.0, score, 1e-9);
+    }
+
+    @Test
+    void heavyCurrentRainCountsDespiteLowAccumulation() {
+        // 12mm/h now scores 40; 1mm in 3h, 3mm in 24h, 5mm in 72h would only give 1.5 + 1.5 + 0.5
+        double score = HeuristicRiskScorer.score(NaN, NaN, 12, NaN, 1, 3, 5);
+
+        assertEquals(40.0, score, 1e-9);
+        assertEquals(HeuristicRiskScorer.score(NaN, NaN, 12, NaN, NaN, NaN, NaN), score, 1e-9);
+    }
+
+    @Test
+    void missingValuesContributeNothing() {
+        assertEquals(0.0, HeuristicRiskScorer.score(NaN, NaN, NaN, NaN, NaN, NaN, NaN));
+        assertEquals(0, HeuristicRiskScorer.factors(NaN, NaN, NaN, NaN, NaN, NaN));
+    }
+
+    @Test
+    void scoreIsCappedAtOneHundred() {
+        assertEquals(100.0, HeuristicRiskScorer.score(0, 100, 80, 60, 40, 200, 300));
+        assertEquals(RiskLevel.EXTREME, RiskLevel.of(100));
+    }
+
+    @Test
+    void factorsAreDescribedInDeclarationOrder() {
+        int mask = HeuristicRiskScorer.factors(1, 85, 12, 25, 35, 80);
+
+        assertEquals(List.of("Heavy precipitation", "Prolonged rainfall", "Saturated ground",
+            "High humidity", "Strong winds", "Near-freezing temperatures"), RiskFactor.describe(mask));
+        assertEquals(List.of(), RiskFactor.describe(0));
+    }
+
+    @Test
+    void batchMatchesSingleScoring() {
+        WeatherColumns columns = new WeatherColumns(3);
+        columns.add(2, 90, 5, 10, NaN, NaN, NaN);
+        columns.add(15, 60, 0, 3, 1, 12, 40);
+        columns.add(-1, 85, 12, 25, 8, 35, 80);
+        double[] scores = new double[3];
+        int[] factors = new int[3];
+
+        HeuristicRiskScorer.scoreBatch(columns, scores, factors);
+
+        for (int i = 0; i < columns.size(); i++) {
+            assertEquals(HeuristicRiskScorer.score(columns.temperature[i], columns.humidity[i],
+                columns.precipitation[i], columns.windSpeed[i], columns.precipitation3h[i],
+                columns.precipitation24h[i], columns.precipitation72h[i]), scores[i]);
+            assertEquals(HeuristicRiskScorer.factors(columns.temperature[i], columns.humidity[i],
+                columns.precipitation[i], columns.windSpeed[i], columns.precipitation24h[i],
+                columns.precipitation72h[i]), factors[i]);
+        }
+    }
+
+    @Test
+    void batchRejectsUndersizedOutput() {
+        WeatherColumns columns = new WeatherColumns(2);
+        columns.add(2, 90, 5, 10, NaN, NaN, NaN);
+        columns.add(2, 90, 5, 10, NaN, NaN, NaN);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> HeuristicRiskScorer.scoreBatch(columns, new double[1], new int[2]));
+    }
+
+    @Test
+    void batchScoringDoesNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        WeatherColumns columns = new WeatherColumns(1024);
+        for (int i = 0; i < 1024; i++) {
+            columns.add(i % 30 - 5, i % 100, i % 20, i % 40, i % 10, i % 60, i % 150);
+        }
+        double[] scores = new double[1024];
+        int[] factors = new int[1024];
+        for (int i = 0; i < 2_000; i++) {
+            HeuristicRiskScorer.scoreBatch(columns, scores, factors);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1_000; i++) {
+            HeuristicRiskScorer.scoreBatch(columns, scores, factors);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // A million scores; allow for the occasional TLAB bookkeeping but nothing per score
+        assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,122 @@
+package com.floodguard.ml;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomForestTest {
+
+    // Two stumps: tree 0 splits on scaled precipitation at 0.0, tree 1 on scaled humidity at 1.0
+    private static final String FOREST_JSON = """
+        {
+          "features": ["temperature", "humidity", "precipitation", "wind_speed"],
+          "scaler": {"mean": [10.0, 50.0, 5.0, 3.0], "scale": [5.0, 20.0, 5.0, 2.0]},
+          "trees": [
+            {"feature": [2, -2, -2], "threshold": [0.0, -2.0, -2.0],
+             "left": [1, -1, -1], "right": [2, -1, -1], "value": [0.0, 10.0, 90.0]},
+            {"feature": [1, -2, -2], "threshold": [1.0, -2.0, -2.0],
+             "left": [1, -1, -1], "right": [2, -1, -1], "value": [0.0, 20.0, 60.0]}
+          ]
+        }
+        """;
+
+    private RandomForest forest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        forest = RandomForestLoader.load(
+            new ByteArrayInputStream(FOREST_JSON.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+    }
+
+    @Test
+    void load_FlattensTreesIntoSingleNodeTable() {
+        assertEquals(2, forest.getTreeCount());
+        assertEquals(6, forest.getNodeCount());
+    }
+
+    @Test
+    void predict_AveragesLeafValuesAcrossTrees() {
+        // precipitation 20 -> scaled 3.0 > 0.0 -> 90; humidity 90 -> scaled 2.0 > 1.0 -> 60
+        assertEquals(75.0, forest.predict(new double[]{10.0, 90.0, 20.0, 3.0}), 1e-9);
+        // precipitation 0 -> scaled -1.0 -> 10; humidity 50 -> scaled 0.0 -> 20
+        assertEquals(15.0, forest.predict(new double[]{10.0, 50.0, 0.0, 3.0}), 1e-9);
+    }
+
+    @Test
+    void predict_ImputesMissingFeaturesWithMean() {
+        assertEquals(15.0, forest.predict(new double[]{Double.NaN, Double.NaN, Double.NaN, Double.NaN}), 1e-9);
+    }
+
+    @Test
+    void embeddedModel_MapsScoreToLevelAndFactors() {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setTemperature(10.0);
+        weatherData.setHumidity(90);
+        weatherData.setPrecipitation(20.0);
+        weatherData.setWindSpeed(3.0);
+
+        FloodRisk risk = new EmbeddedRiskModel(forest).predict(weatherData).join();
+
+        assertEquals(75.0, risk.getRiskScore(), 1e-9);
+        assertEquals("HIGH", risk.getRiskLevel());
+        assertTrue(risk.getFactors().contains("Heavy precipitation"));
+        assertTrue(risk.getFactors().contains("High flood risk conditions"));
+    }
+
+    @Test
+    void exportedModel_UsesBackendFeatureOrder() throws Exception {
+        RandomForest exported;
+        try (InputStream input = getClass().getResourceAsStream("/ml/flood_risk_forest.json")) {
+            exported = RandomForestLoader.load(input, new ObjectMapper());
+        }
+
+        assertEquals(featureNames(), List.of(exported.getFeatureNames()));
+    }
+
+    @Test
+    void exporterFeatures_MatchBackendFeatureOrder() throws Exception {
+        String source = Files.readString(Path.of("ml", "flood_risk_model.py"));
+        Matcher matcher = Pattern.compile("FEATURES = \\[([^\\]]*)]").matcher(source);
+        assertTrue(matcher.find());
+
+        List<String> exporterFeatures = Arrays.stream(matcher.group(1).split(","))
+            .map(name -> name.strip().replace("'", ""))
+            .toList();
+
+        assertEquals(featureNames(), exporterFeatures);
+    }
+
+    @Test
+    void embeddedModel_ReadsRollingTotalsIntoTheirSlot() throws Exception {
+        RandomForest exported;
+        try (InputStream input = getClass().getResourceAsStream("/ml/flood_risk_forest.json")) {
+            exported = RandomForestLoader.load(input, new ObjectMapper());
+        }
+        EmbeddedRiskModel model = new EmbeddedRiskModel(exported);
+        WeatherData weatherData = new WeatherData();
+        weatherData.setPrecipitation(1.0);
+
+        // Missing totals are imputed with the mean and take the left branch
+        assertEquals(10.0, model.predict(weatherData).join().getRiskScore(), 1e-9);
+        weatherData.setPrecipitation24h(45.0);
+        assertEquals(70.0, model.predict(weatherData).join().getRiskScore(), 1e-9);
+    }
+
+    private static List<String> featureNames() {
+        return Arrays.stream(ModelFeature.values()).map(ModelFeature::getFeatureName).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.floodguard.push;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.floodguard.dto.ReportResponse;
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.geo.BoundingBox;
+import com.floodguard.model.FloodReport;
+import com.floodguard.model.User;
+import com.floodguard.service.ReportVerifiedEvent;
+import com.floodguard.service.RiskLevelChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SubscriptionHubTest {
+
+    private SubscriptionHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new SubscriptionHub(new ObjectMapper().findAndRegisterModules(), new SyncTaskExecutor(),
+            1.0, 5.0, 60_000);
+    }
+
+    @Test
+    void reportVerified_ReachesOnlySubscribersWhoseBoxContainsIt() throws Exception {
+        SseEmitter inside = mock(SseEmitter.class);
+        SseEmitter sameBucketOutside = mock(SseEmitter.class);
+        SseEmitter elsewhere = mock(SseEmitter.class);
+        hub.subscribe(new BoundingBox(37.0, -123.0, 38.0, -122.0), inside);
+        hub.subscribe(new BoundingBox(37.9, -122.9, 37.95, -122.8), sameBucketOutside);
+        hub.subscribe(new BoundingBox(40.0, -75.0, 41.0, -74.0), elsewhere);
+
+        hub.onReportVerified(new ReportVerifiedEvent(verifiedReport(37.7749, -122.4194)));
+
+        verify(inside).send(any(SseEmitter.SseEventBuilder.class));
+        verify(sameBucketOutside, never()).send(any(SseEmitter.SseEventBuilder.class));
+        verify(elsewhere, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void boxSpanningBuckets_ReceivesEventsFromEachBucket() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        hub.subscribe(new BoundingBox(36.5, -123.5, 38.5, -121.5), emitter);
+
+        hub.onRiskLevelChanged(new RiskLevelChangedEvent(36.6, -123.4, "LOW", "HIGH", 65.0));
+        hub.onRiskLevelChanged(new RiskLevelChangedEvent(38.4, -121.6, "HIGH", "EXTREME", 85.0));
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void failedSend_DropsSubscription() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        hub.subscribe(new BoundingBox(37.0, -123.0, 38.0, -122.0), emitter);
+
+        hub.heartbeat();
+
+        assertEquals(0, hub.subscriberCount());
+        verify(emitter).completeWithError(any(IOException.class));
+    }
+
+    @Test
+    void completion_Unsubscribes() {
+        SseEmitter emitter = mock(SseEmitter.class);
+        hub.subscribe(new BoundingBox(37.0, -123.0, 38.0, -122.0), emitter);
+        ArgumentCaptor<Runnable> onCompletion = ArgumentCaptor.forClass(Runnable.class);
+        verify(emitter).onCompletion(onCompletion.capture());
+
+        onCompletion.getValue().run();
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void subscribe_RejectsOversizedBox() {
+        assertThrows(BadRequestException.class,
+            () -> hub.subscribe(new BoundingBox(30.0, -130.0, 45.0, -110.0), mock(SseEmitter.class)));
+    }
+
+    private static ReportResponse verifiedReport(double latitude, double longitude) {
+        User reporter = new User();
+        reporter.setUsername("reporter");
+        FloodReport report = new FloodReport();
+        report.setId(1L);
+        report.setLatitude(latitude);
+        report.setLongitude(longitude);
+        report.setStatus(FloodReport.Status.VERIFIED);
+        report.setReporter(reporter);
+        return new ReportResponse(report);
+    }
+}
@@ -0,0 +1,143 @@
+package com.floodguard.repository;
+
+import com.floodguard.model.FloodReport;
+import com.floodguard.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the moderation statements commit on their own, and the
+// SKIP LOCKED case needs rows that a second connection can see and lock
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FloodReportModerationRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    private FloodReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User admin;
+    private User reporter;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(user("admin", User.Role.ADMIN));
+        reporter = userRepository.save(user("reporter", User.Role.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void moderateByIds_ReturnsOnlyReportsThatChanged() {
+        FloodReport pending = report(40.0, -74.0, FloodReport.Status.PENDING);
+        FloodReport rejected = report(40.0, -74.0, FloodReport.Status.REJECTED);
+        FloodReport verified = report(40.0, -74.0, FloodReport.Status.VERIFIED);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        List<Long> moderated = reportRepository.moderateByIds(
+            List.of(pending.getId(), rejected.getId(), verified.getId()), "VERIFIED", admin.getId(), now);
+
+        assertEquals(Set.of(pending.getId(), rejected.getId()), new HashSet<>(moderated));
+        FloodReport reloaded = reportRepository.findAllWithUsersByIdIn(List.of(pending.getId())).get(0);
+        assertEquals(FloodReport.Status.VERIFIED, reloaded.getStatus());
+        assertEquals(admin.getId(), reloaded.getVerifiedBy().getId());
+        assertEquals(now, reloaded.getVerifiedAt());
+        // The report that was already verified keeps its original verifier
+        assertNull(reportRepository.findAllWithUsersByIdIn(List.of(verified.getId())).get(0).getVerifiedAt());
+    }
+
+    @Test
+    void moderateByFilter_SelectsByStatusAndBoxUpToTheLimit() {
+        Set<Long> inBox = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            inBox.add(report(40.0 + i * 0.01, -74.0, FloodReport.Status.PENDING).getId());
+        }
+        FloodReport outside = report(10.0, 10.0, FloodReport.Status.PENDING);
+        FloodReport alreadyRejected = report(40.0, -74.0, FloodReport.Status.REJECTED);
+
+        List<Long> first = moderateInBox(3);
+        List<Long> rest = moderateInBox(10);
+
+        assertEquals(3, first.size());
+        assertEquals(2, rest.size());
+        Set<Long> moderated = new HashSet<>(first);
+        moderated.addAll(rest);
+        assertEquals(inBox, moderated);
+        assertFalse(moderated.contains(outside.getId()));
+        assertFalse(moderated.contains(alreadyRejected.getId()));
+        assertTrue(moderateInBox(10).isEmpty());
+    }
+
+    @Test
+    void moderateByFilter_SkipsRowsLockedByAnotherTransaction() throws Exception {
+        FloodReport locked = report(40.0, -74.0, FloodReport.Status.PENDING);
+        FloodReport free = report(40.01, -74.0, FloodReport.Status.PENDING);
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement lock = other.prepareStatement("SELECT id FROM flood_reports WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, locked.getId());
+                lock.executeQuery().close();
+            }
+
+            List<Long> moderated = moderateInBox(10);
+
+            assertEquals(List.of(free.getId()), moderated);
+            other.rollback();
+        }
+        assertEquals(List.of(locked.getId()), moderateInBox(10));
+    }
+
+    private List<Long> moderateInBox(int limit) {
+        return reportRepository.moderateByFilter("PENDING", 39.5, -74.5, 40.5, -73.5, EARLIEST, LATEST, limit,
+            "REJECTED", admin.getId(), LocalDateTime.now());
+    }
+
+    private FloodReport report(double latitude, double longitude, FloodReport.Status status) {
+        FloodReport report = new FloodReport();
+        report.setTitle("Report");
+        report.setDescription("Water rising");
+        report.setLatitude(latitude);
+        report.setLongitude(longitude);
+        report.setSeverity(FloodReport.Severity.HIGH);
+        report.setReporter(reporter);
+        report.setStatus(status);
+        return reportRepository.save(report);
+    }
+
+    private static User user(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+}
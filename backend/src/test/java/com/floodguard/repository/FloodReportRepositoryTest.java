@@ -0,0 +1,136 @@
+package com.floodguard.repository;
+
+import com.floodguard.dto.ReportCursor;
+import com.floodguard.dto.ReportResponse;
+import com.floodguard.model.FloodReport;
+import com.floodguard.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FloodReportRepositoryTest {
+
+    @Autowired
+    private FloodReportRepository reportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User reporter;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User admin = user("admin", User.Role.ADMIN);
+        for (int i = 0; i < 5; i++) {
+            reporter = user("reporter" + i, User.Role.USER);
+            for (int j = 0; j < 4; j++) {
+                FloodReport report = new FloodReport();
+                report.setTitle("Report " + i + "-" + j);
+                report.setDescription("Description");
+                report.setLatitude(37.0 + i);
+                report.setLongitude(-122.0 - j);
+                report.setSeverity(FloodReport.Severity.MEDIUM);
+                report.setReporter(reporter);
+                if (j % 2 == 0) {
+                    report.setStatus(FloodReport.Status.VERIFIED);
+                    report.setVerifiedBy(admin);
+                }
+                entityManager.persist(report);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_FetchesUsersWithThePage() {
+        Page<FloodReport> page = reportRepository.findAll(PageRequest.of(0, 10));
+
+        List<ReportResponse> responses = page.map(ReportResponse::new).getContent();
+
+        assertEquals(10, responses.size());
+        // One statement for the page, one for the total count
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByStatus_FetchesUsersWithThePage() {
+        Page<FloodReport> page = reportRepository.findByStatus(FloodReport.Status.VERIFIED, PageRequest.of(0, 5));
+
+        List<ReportResponse> responses = page.map(ReportResponse::new).getContent();
+
+        assertEquals(5, responses.size());
+        assertTrue(responses.stream().allMatch(response -> "admin".equals(response.getVerifiedByUsername())));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByReporter_FetchesUsersWithThePage() {
+        User lastReporter = entityManager.find(User.class, reporter.getId());
+        statistics.clear();
+
+        Page<FloodReport> page = reportRepository.findByReporter(lastReporter, PageRequest.of(0, 10));
+
+        List<ReportResponse> responses = page.map(ReportResponse::new).getContent();
+
+        assertEquals(4, responses.size());
+        // The whole result fits in the first page, so no count statement is needed
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findFeedPage_WalksEveryReportOnceWithoutCounting() {
+        List<FloodReport> seen = new ArrayList<>();
+        ReportCursor cursor = ReportCursor.START;
+        int pages = 0;
+        Slice<FloodReport> slice;
+        do {
+            slice = reportRepository.findFeedPage(cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 6));
+            slice.forEach(ReportResponse::new);
+            seen.addAll(slice.getContent());
+            if (!slice.isEmpty()) {
+                cursor = ReportCursor.decode(ReportCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)).encode());
+            }
+            pages++;
+        } while (slice.hasNext());
+
+        assertEquals(4, pages);
+        assertEquals(20, seen.stream().map(FloodReport::getId).distinct().count());
+        List<FloodReport> expected = new ArrayList<>(seen);
+        expected.sort(Comparator.comparing(FloodReport::getCreatedAt).thenComparing(FloodReport::getId).reversed());
+        assertEquals(expected, seen);
+        // One statement per page: no count query and no lazy user loads
+        assertEquals(pages, statistics.getPrepareStatementCount());
+    }
+
+    private User user(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,50 @@
+package com.floodguard.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base for repository tests whose SQL only runs on PostgreSQL (native {@code RETURNING},
+ * {@code SKIP LOCKED}, geometric operators, declarative partitioning).
+ * <p>
+ * Points at {@code -Dtest.postgres.url} when set, otherwise starts a Testcontainers PostgreSQL.
+ * Without either the tests are skipped rather than failed. Subclasses declare
+ * {@code @AutoConfigureTestDatabase(replace = NONE)} next to their slice annotation, which
+ * would otherwise swap in an embedded database.
+ */
+abstract class PostgresRepositoryTest {
+
+    private static final String URL_PROPERTY = "test.postgres.url";
+
+    private static PostgreSQLContainer<?> container;
+
+    @BeforeAll
+    static void startPostgres() {
+        if (System.getProperty(URL_PROPERTY) != null) {
+            return;
+        }
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+            "Set -D" + URL_PROPERTY + " or start Docker to run PostgreSQL repository tests");
+        synchronized (PostgresRepositoryTest.class) {
+            if (container == null) {
+                container = new PostgreSQLContainer<>("postgres:15-alpine");
+                container.start();
+            }
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+            () -> System.getProperty(URL_PROPERTY, container != null ? container.getJdbcUrl() : ""));
+        registry.add("spring.datasource.username",
+            () -> System.getProperty("test.postgres.username", container != null ? container.getUsername() : "postgres"));
+        registry.add("spring.datasource.password",
+            () -> System.getProperty("test.postgres.password", container != null ? container.getPassword() : "postgres"));
+    }
+}
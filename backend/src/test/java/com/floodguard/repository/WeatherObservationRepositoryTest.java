@@ -0,0 +1,115 @@
+package com.floodguard.repository;
+
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(WeatherObservationRepository.class)
+class WeatherObservationRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDateTime NOW = TODAY.atTime(12, 0);
+
+    private final GridCell cell = new GridCell(3777, -12242);
+
+    @Autowired
+    private WeatherObservationRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Runs twice on purpose: startup and the daily schedule both call it
+        repository.createTableIfMissing();
+        repository.createTableIfMissing();
+        repository.createDailyPartition(TODAY);
+    }
+
+    @Test
+    void createDailyPartition_AttachesNamedPartitionOnce() {
+        repository.createDailyPartition(TODAY);
+
+        assertEquals(List.of(WeatherObservationRepository.partitionName(TODAY)), repository.findDailyPartitions());
+    }
+
+    @Test
+    void insertBatch_IgnoresDuplicatesAndReadsBackInOrder() {
+        repository.insertBatch(List.of(
+            Map.entry(cell, observation(NOW.minusMinutes(10), 2.0)),
+            Map.entry(cell, observation(NOW.minusMinutes(20), 4.0))));
+        repository.insertBatch(List.of(Map.entry(cell, observation(NOW.minusMinutes(10), 9.0))));
+
+        List<WeatherData> history = repository.findByCell(cell, NOW.minusHours(1), NOW);
+
+        assertEquals(2, history.size());
+        assertEquals(NOW.minusMinutes(20), history.get(0).getTimestamp());
+        assertEquals(2.0, history.get(1).getPrecipitation());
+        assertEquals(2, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM " + WeatherObservationRepository.partitionName(TODAY), Integer.class));
+    }
+
+    @Test
+    void hourlyPrecipitation_AveragesEachWholeHour() {
+        repository.insertBatch(List.of(
+            Map.entry(cell, observation(NOW.minusMinutes(10), 2.0)),
+            Map.entry(cell, observation(NOW.minusMinutes(20), 4.0)),
+            Map.entry(cell, observation(NOW.minusMinutes(90), 1.0)),
+            Map.entry(new GridCell(1, 1), observation(NOW.minusMinutes(10), 8.0))));
+
+        double[] hourly = repository.hourlyPrecipitation(cell, NOW, 3);
+        Map<GridCell, Double> latestHour = new HashMap<>();
+        repository.forEachHourlyPrecipitation(NOW, 3, (observed, hoursAgo, precipitation) -> {
+            if (hoursAgo == 0) {
+                latestHour.put(observed, precipitation);
+            }
+        });
+
+        assertEquals(3.0, hourly[0], 1e-9);
+        assertEquals(1.0, hourly[1], 1e-9);
+        assertTrue(Double.isNaN(hourly[2]));
+        assertEquals(Map.of(cell, 3.0, new GridCell(1, 1), 8.0), latestHour);
+    }
+
+    @Test
+    void dropPartition_RemovesThatDaysRowsAndOutOfRangeRowsLandInDefault() {
+        repository.insertBatch(List.of(
+            Map.entry(cell, observation(NOW.minusMinutes(10), 2.0)),
+            Map.entry(cell, observation(NOW.minusDays(5), 1.0))));
+
+        repository.dropPartition(WeatherObservationRepository.partitionName(TODAY));
+
+        assertTrue(repository.findDailyPartitions().isEmpty());
+        assertTrue(repository.findByCell(cell, NOW.minusHours(1), NOW).isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM weather_observations_default", Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> repository.dropPartition("flood_reports"));
+    }
+
+    private static WeatherData observation(LocalDateTime observedAt, double precipitation) {
+        WeatherData data = new WeatherData();
+        data.setTimestamp(observedAt);
+        data.setLatitude(37.775);
+        data.setLongitude(-122.415);
+        data.setTemperature(15.0);
+        data.setHumidity(80);
+        data.setPrecipitation(precipitation);
+        data.setWindSpeed(4.0);
+        return data;
+    }
+}
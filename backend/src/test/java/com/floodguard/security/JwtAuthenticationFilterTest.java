@@ -0,0 +1,142 @@
+package com.floodguard.security;
+
+import com.floodguard.model.User;
+import com.floodguard.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private UserRepository userRepository;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private PrincipalCache principalCache;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheSize", 100L);
+        jwtService.init();
+
+        userDetailsService = mock(UserDetailsService.class);
+        userRepository = mock(UserRepository.class);
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, 100, 300);
+        principalCache = new PrincipalCache(100, 60);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "tokenVersionRegistry", tokenVersionRegistry);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("admin");
+        user.setEmail("admin@example.com");
+        user.setFullName("Admin User");
+        user.setRole(User.Role.ADMIN);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(user);
+        when(userRepository.findTokenVersionById(7L)).thenAnswer(invocation -> Optional.of(user.getTokenVersion()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loadsFullPrincipalByDefault() throws Exception {
+        Authentication authentication = authenticate(jwtService.generateToken(user));
+
+        User principal = (User) authentication.getPrincipal();
+        assertEquals("admin@example.com", principal.getEmail());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        verify(userDetailsService).loadUserByUsername("admin");
+    }
+
+    @Test
+    void rejectsRevokedTokenByDefault() throws Exception {
+        String token = jwtService.generateToken(user);
+        user.setTokenVersion(1);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void statelessMode_BuildsPrincipalFromClaims() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+
+        Authentication authentication = authenticate(jwtService.generateToken(user));
+
+        User principal = (User) authentication.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("admin", principal.getUsername());
+        assertEquals(User.Role.ADMIN, principal.getRole());
+        // Only claim-backed fields are available without loading the user
+        assertNull(principal.getEmail());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessMode_RejectsRevokedToken() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        String token = jwtService.generateToken(user);
+        tokenVersionRegistry.update(7L, 1);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void statelessMode_RoleChangeRevokesIssuedTokens() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        String token = jwtService.generateToken(user);
+        assertNotNull(authenticate(token));
+        SecurityContextHolder.clearContext();
+
+        demote(user);
+
+        assertEquals(1, user.getTokenVersion());
+        assertNull(authenticate(token));
+        assertEquals(User.Role.USER, ((User) authenticate(jwtService.generateToken(user)).getPrincipal()).getRole());
+    }
+
+    private void demote(User user) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("principalCache", principalCache);
+        beans.addBean("tokenVersionRegistry", tokenVersionRegistry);
+        UserChangeListener listener = new UserChangeListener();
+        ReflectionTestUtils.setField(listener, "principalCache", beans.getBeanProvider(PrincipalCache.class));
+        ReflectionTestUtils.setField(listener, "tokenVersionRegistry", beans.getBeanProvider(TokenVersionRegistry.class));
+
+        // The JPA lifecycle of loading the user, changing the role and flushing
+        listener.onLoad(user);
+        user.setRole(User.Role.USER);
+        listener.onPreUpdate(user);
+        listener.onUpdate(user);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,70 @@
+package com.floodguard.security;
+
+import com.floodguard.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheSize", 100L);
+        jwtService.init();
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("testuser");
+    }
+
+    @Test
+    void extractAllClaims_VerifiesOnceAndCaches() {
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.extractAllClaims(token);
+        Claims second = jwtService.extractAllClaims(token);
+
+        assertEquals("testuser", first.getSubject());
+        assertSame(first, second);
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void generateToken_EmbedsPrincipalClaims() {
+        user.setRole(User.Role.ADMIN);
+        user.setTokenVersion(3);
+
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertEquals(7L, claims.get(JwtService.USER_ID_CLAIM, Long.class));
+        assertEquals("ADMIN", claims.get(JwtService.ROLE_CLAIM, String.class));
+        assertEquals(3, claims.get(JwtService.TOKEN_VERSION_CLAIM, Integer.class));
+    }
+
+    @Test
+    void extractAllClaims_RejectsTamperedToken() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2)
+            + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(tampered));
+    }
+
+    @Test
+    void extractAllClaims_RejectsExpiredToken() {
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1_000L);
+        String token = jwtService.generateToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+}
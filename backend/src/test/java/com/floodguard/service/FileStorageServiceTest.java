@@ -0,0 +1,124 @@
+package com.floodguard.service;
+
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.repository.StoredImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FileStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private StoredImageRepository storedImageRepository;
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        storedImageRepository = mock(StoredImageRepository.class);
+        fileStorageService = new FileStorageService(uploadDir.toString(), 4 << 20,
+            new String[] {"image/jpeg", "image/png"}, false, storedImageRepository, event -> { });
+    }
+
+    @Test
+    void storeStream_WritesFileAndHashesContent() throws Exception {
+        byte[] image = new byte[3 << 20];
+        new Random(42).nextBytes(image);
+
+        StoredFile stored = fileStorageService.storeStream(new ByteArrayInputStream(image), "image/jpeg", image.length);
+
+        assertTrue(stored.getFileName().endsWith(".jpg"));
+        assertEquals(image.length, stored.getSize());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image)), stored.getSha256());
+        assertArrayEquals(image, Files.readAllBytes(uploadDir.resolve(stored.getFileName())));
+    }
+
+    @Test
+    void storeStream_RejectsOversizedBodyWithoutLeavingFiles() throws Exception {
+        byte[] image = new byte[(4 << 20) + 1];
+
+        assertThrows(BadRequestException.class,
+            () -> fileStorageService.storeStream(new ByteArrayInputStream(image), "image/png", -1));
+        try (var files = Files.list(uploadDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void storeStream_RejectsUnsupportedType() {
+        assertThrows(BadRequestException.class,
+            () -> fileStorageService.storeStream(new ByteArrayInputStream(new byte[1]), "image/gif", 1));
+    }
+
+    @Test
+    void storeStream_ContentAddressedModeSharesIdenticalUploads() throws Exception {
+        FileStorageService contentAddressed = new FileStorageService(uploadDir.toString(), 4 << 20,
+            new String[] {"image/jpeg"}, true, storedImageRepository, event -> { });
+        byte[] image = "same photo".getBytes();
+
+        StoredFile first = contentAddressed.storeStream(new ByteArrayInputStream(image), "image/jpeg", image.length);
+        StoredFile second = contentAddressed.storeStream(new ByteArrayInputStream(image), "image/jpeg", image.length);
+
+        String sha256 = first.getSha256();
+        assertEquals(sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + ".jpg", first.getFileName());
+        assertEquals(first.getFileName(), second.getFileName());
+        verify(storedImageRepository, times(2)).acquire(first.getFileName(), sha256, image.length);
+        try (var files = Files.walk(uploadDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void deleteFile_KeepsBlobWhileStillReferenced() throws Exception {
+        Path blob = Files.createDirectories(uploadDir.resolve("ab/cd")).resolve("abcd.jpg");
+        Files.write(blob, new byte[] {1});
+        when(storedImageRepository.release("ab/cd/abcd.jpg")).thenReturn(1);
+        when(storedImageRepository.deleteUnreferenced("ab/cd/abcd.jpg")).thenReturn(0, 1);
+
+        fileStorageService.deleteFile("ab/cd/abcd.jpg");
+        assertTrue(Files.exists(blob));
+
+        fileStorageService.deleteFile("ab/cd/abcd.jpg");
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void deleteFile_KeepsBlobReacquiredBeforeCleanup() throws Exception {
+        Path blob = Files.createDirectories(uploadDir.resolve("ab/cd")).resolve("abcd.jpg");
+        Files.write(blob, new byte[] {1});
+        when(storedImageRepository.release("ab/cd/abcd.jpg")).thenReturn(1);
+        when(storedImageRepository.deleteUnreferenced("ab/cd/abcd.jpg")).thenReturn(1);
+        // A concurrent upload of the same bytes re-created the row after the last release
+        when(storedImageRepository.existsById("ab/cd/abcd.jpg")).thenReturn(true);
+
+        fileStorageService.deleteFile("ab/cd/abcd.jpg");
+
+        assertTrue(Files.exists(blob));
+    }
+
+    @Test
+    void storeStream_RestoresBlobRemovedByConcurrentDelete() throws Exception {
+        FileStorageService contentAddressed = new FileStorageService(uploadDir.toString(), 4 << 20,
+            new String[] {"image/jpeg"}, true, storedImageRepository, event -> { });
+        byte[] image = "same photo".getBytes();
+        StoredFile first = contentAddressed.storeStream(new ByteArrayInputStream(image), "image/jpeg", image.length);
+        // The last reference was released and its cleanup removed the file
+        Files.delete(uploadDir.resolve(first.getFileName()));
+
+        StoredFile second = contentAddressed.storeStream(new ByteArrayInputStream(image), "image/jpeg", image.length);
+
+        assertArrayEquals(image, Files.readAllBytes(uploadDir.resolve(second.getFileName())));
+        verify(storedImageRepository, times(2)).acquire(first.getFileName(), first.getSha256(), image.length);
+    }
+}
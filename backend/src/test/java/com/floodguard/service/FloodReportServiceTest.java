@@ -1,20 +1,31 @@
 package com.floodguard.service;
 
+import com.floodguard.dto.BatchItemResult;
+import com.floodguard.dto.BulkModerationRequest;
+import com.floodguard.dto.BulkModerationResponse;
 import com.floodguard.dto.ReportRequest;
+import com.floodguard.dto.ReportResponse;
 import com.floodguard.model.FloodReport;
 import com.floodguard.model.User;
 import com.floodguard.repository.FloodReportRepository;
+import com.floodguard.exception.BadRequestException;
 import com.floodguard.exception.ResourceNotFoundException;
 import com.floodguard.exception.UnauthorizedException;
+import com.floodguard.geo.VerifiedReportIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +33,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class FloodReportServiceTest {
@@ -29,6 +43,18 @@ class FloodReportServiceTest {
     @Mock
     private FloodReportRepository reportRepository;
 
+    @Mock
+    private VerifiedReportIndex reportIndex;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private FloodReportService reportService;
 
@@ -40,6 +66,7 @@ class FloodReportServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(reportService, "maxBulkModeration", 100);
 
         testUser = new User();
         testUser.setId(1L);
@@ -81,6 +108,36 @@ class FloodReportServiceTest {
         verify(reportRepository).save(any(FloodReport.class));
     }
 
+    @Test
+    void createReports_SavesValidItemsAndRejectsTheRest() {
+        ReportRequest missingTitle = new ReportRequest();
+        missingTitle.setDescription("No title");
+        missingTitle.setLatitude(37.7749);
+        missingTitle.setLongitude(-122.4194);
+        missingTitle.setSeverity(FloodReport.Severity.LOW);
+        when(reportRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<FloodReport> reports = invocation.getArgument(0);
+            long id = 100;
+            for (FloodReport report : reports) {
+                report.setId(id++);
+            }
+            return reports;
+        });
+
+        List<BatchItemResult> results = reportService.createReports(testUser,
+            Arrays.asList(reportRequest, missingTitle, null, reportRequest));
+
+        assertEquals(4, results.size());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals("REJECTED", results.get(1).getStatus());
+        assertEquals("Title is required", results.get(1).getError());
+        assertEquals("Malformed report", results.get(2).getError());
+        assertEquals(101L, results.get(3).getId());
+        assertEquals(3, results.get(3).getIndex());
+        verify(reportRepository, times(1)).saveAll(argThat(reports -> ((List<?>) reports).size() == 2));
+        verify(reportRepository, never()).save(any(FloodReport.class));
+    }
+
     @Test
     void getReport_Success() {
         when(reportRepository.findById(1L)).thenReturn(Optional.of(testReport));
@@ -124,6 +181,7 @@ class FloodReportServiceTest {
 
         assertDoesNotThrow(() -> reportService.deleteReport(testUser, 1L));
         verify(reportRepository).delete(testReport);
+        verify(reportIndex).remove(1L);
     }
 
     @Test
@@ -145,6 +203,54 @@ class FloodReportServiceTest {
         assertEquals(FloodReport.Status.VERIFIED, result.getStatus());
         assertEquals(adminUser, result.getVerifiedBy());
         verify(reportRepository).save(any(FloodReport.class));
+        verify(reportIndex).put(any(ReportResponse.class));
+        verify(eventPublisher).publishEvent(any(ReportVerifiedEvent.class));
+    }
+
+    @Test
+    void moderateReports_ByIds_ReindexesApprovedReports() {
+        BulkModerationRequest request = new BulkModerationRequest();
+        request.setIds(List.of(1L, 2L));
+        when(reportRepository.moderateByIds(eq(List.of(1L, 2L)), eq("VERIFIED"), eq(2L), any()))
+            .thenReturn(List.of(1L));
+        testReport.setStatus(FloodReport.Status.VERIFIED);
+        when(reportRepository.findAllWithUsersByIdIn(List.of(1L))).thenReturn(List.of(testReport));
+
+        BulkModerationResponse result = reportService.moderateReports(adminUser, request, FloodReport.Status.VERIFIED);
+
+        assertEquals(1, result.getAffected());
+        assertFalse(result.isLimitReached());
+        verify(reportIndex).putAll(argThat(summaries -> summaries.size() == 1));
+        verify(reportRepository, never()).save(any(FloodReport.class));
+    }
+
+    @Test
+    void moderateReports_ByFilter_DefaultsToPendingEverywhere() {
+        ReflectionTestUtils.setField(reportService, "maxBulkModeration", 2);
+        BulkModerationRequest request = new BulkModerationRequest();
+        request.setMinLatitude(37.0);
+        request.setMaxLatitude(38.0);
+        when(reportRepository.moderateByFilter(eq("PENDING"), eq(37.0), eq(-180.0), eq(38.0), eq(180.0),
+                any(), any(), eq(2), eq("REJECTED"), eq(2L), any()))
+            .thenReturn(List.of(5L, 6L));
+
+        BulkModerationResponse result = reportService.moderateReports(adminUser, request, FloodReport.Status.REJECTED);
+
+        assertEquals(2, result.getAffected());
+        assertTrue(result.isLimitReached());
+        verify(reportIndex).removeAll(List.of(5L, 6L));
+    }
+
+    @Test
+    void moderateReports_RequiresIdsOrFilter() {
+        BulkModerationRequest both = new BulkModerationRequest();
+        both.setIds(List.of(1L));
+        both.setStatus(FloodReport.Status.PENDING);
+
+        assertThrows(BadRequestException.class,
+            () -> reportService.moderateReports(adminUser, new BulkModerationRequest(), FloodReport.Status.VERIFIED));
+        assertThrows(BadRequestException.class,
+            () -> reportService.moderateReports(adminUser, both, FloodReport.Status.VERIFIED));
     }
 
     @Test
@@ -0,0 +1,99 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.dto.WatchedRegionRequest;
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WatchedRegion;
+import com.floodguard.repository.WatchedRegionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RiskRefreshSchedulerTest {
+
+    private final GeoGrid geoGrid = new GeoGrid(0.01);
+    private WatchedRegionRepository regionRepository;
+    private WatchedRegionService regionService;
+    private WeatherService weatherService;
+    private WeatherCache weatherCache;
+    private RiskRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        regionRepository = mock(WatchedRegionRepository.class);
+        regionService = new WatchedRegionService(regionRepository, geoGrid, 100);
+        weatherService = mock(WeatherService.class);
+        weatherCache = new WeatherCache(1000, 15);
+        when(weatherService.refreshCell(any())).thenReturn(CompletableFuture.completedFuture(new FloodRisk()));
+        scheduler = new RiskRefreshScheduler(regionService, weatherService, weatherCache,
+            new SyncTaskExecutor(), 180, 3);
+    }
+
+    @Test
+    void cellsOf_SamplesRegionAtResolution() {
+        List<GridCell> cells = regionService.cellsOf(region(37.0, -122.0, 37.1, -121.9, 0.05));
+
+        assertEquals(9, cells.size());
+        assertTrue(cells.contains(geoGrid.cellOf(37.05, -121.95)));
+    }
+
+    @Test
+    void createRegion_RejectsTooManyCells() {
+        WatchedRegionRequest request = new WatchedRegionRequest();
+        request.setName("Bay Area");
+        request.setMinLatitude(37.0);
+        request.setMinLongitude(-123.0);
+        request.setMaxLatitude(38.0);
+        request.setMaxLongitude(-122.0);
+        request.setResolutionDegrees(0.01);
+
+        assertThrows(BadRequestException.class, () -> regionService.createRegion(request));
+        verify(regionRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_SkipsWarmCellsAndRespectsBudget() {
+        WatchedRegion region = region(37.0, -122.0, 37.1, -121.9, 0.05);
+        when(regionRepository.findByEnabledTrue()).thenReturn(List.of(region));
+        GridCell warm = geoGrid.cellOf(37.0, -122.0);
+        weatherCache.putFloodRisk(warm, new FloodRisk());
+
+        int scheduled = scheduler.refreshDueCells();
+
+        assertEquals(3, scheduled);
+        verify(weatherService, times(3)).refreshCell(any());
+        verify(weatherService, never()).refreshCell(warm);
+    }
+
+    @Test
+    void refresh_FailedCellIsRetriedNextRun() {
+        WatchedRegion region = region(37.0, -122.0, 37.0, -122.0, 0.01);
+        when(regionRepository.findByEnabledTrue()).thenReturn(List.of(region));
+        when(weatherService.refreshCell(any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("upstream down")));
+
+        assertEquals(1, scheduler.refreshDueCells());
+        assertEquals(1, scheduler.refreshDueCells());
+    }
+
+    private static WatchedRegion region(double minLat, double minLon, double maxLat, double maxLon, double resolution) {
+        WatchedRegion region = new WatchedRegion();
+        region.setName("test");
+        region.setMinLatitude(minLat);
+        region.setMinLongitude(minLon);
+        region.setMaxLatitude(maxLat);
+        region.setMaxLongitude(maxLon);
+        region.setResolutionDegrees(resolution);
+        return region;
+    }
+}
@@ -0,0 +1,107 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.exception.BadRequestException;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.model.FloodRisk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskTileServiceTest {
+
+    // Zoom 10 tile containing central San Francisco (37.7749, -122.4194)
+    private static final int Z = 10, X = 163, Y = 395;
+
+    private final GeoGrid geoGrid = new GeoGrid(0.01);
+    private WeatherCache weatherCache;
+    private RiskTileService tileService;
+
+    @BeforeEach
+    void setUp() {
+        weatherCache = new WeatherCache(100_000, 15);
+        tileService = new RiskTileService(weatherCache, geoGrid, 16, 60, 100);
+    }
+
+    @Test
+    void buildTile_PacksCachedScoresAndMarksUnknownCells() {
+        weatherCache.putFloodRisk(geoGrid.cellOf(37.7749, -122.4194), risk(72.4));
+
+        RiskTile tile = tileService.buildTile(Z, X, Y);
+
+        assertEquals(16 * 16, tile.getScores().length);
+        int known = 0;
+        for (byte score : tile.getScores()) {
+            int value = score & 0xFF;
+            if (value != RiskTile.UNKNOWN) {
+                assertEquals(72, value);
+                known++;
+            }
+        }
+        assertTrue(known > 0, "the cached cell should cover at least one sample");
+        assertTrue(known < 16 * 16, "uncached cells stay unknown");
+    }
+
+    @Test
+    void buildTile_ProbesCellsWhenTheTileHoldsFewerCellsThanTheCache() {
+        // A zoom 18 tile spans about 0.0014 degrees, so at most four cells sit under it
+        int z = 18;
+        int x = (int) Math.floor((-122.4194 + 180) / 360 * (1 << z));
+        double latitude = Math.toRadians(37.7749);
+        int y = (int) Math.floor((1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2 * (1 << z));
+        weatherCache.putFloodRisk(geoGrid.cellOf(37.7749, -122.4194), risk(72.4));
+        for (int i = 0; i < 4; i++) {
+            weatherCache.putFloodRisk(geoGrid.cellOf(10.0 + i, 10.0), risk(99.0));
+        }
+
+        RiskTile tile = tileService.buildTile(z, x, y);
+
+        int known = 0;
+        for (byte score : tile.getScores()) {
+            int value = score & 0xFF;
+            if (value != RiskTile.UNKNOWN) {
+                assertEquals(72, value);
+                known++;
+            }
+        }
+        assertTrue(known > 0);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) weatherCache.stats().get("floodRisk");
+        assertEquals(0L, stats.get("hits"));
+        assertEquals(0L, stats.get("misses"));
+    }
+
+    @Test
+    void entityTag_ChangesOnlyWithContent() {
+        RiskTile empty = tileService.buildTile(Z, X, Y);
+        assertEquals(empty.getEntityTag(), tileService.buildTile(Z, X, Y).getEntityTag());
+
+        weatherCache.putFloodRisk(geoGrid.cellOf(37.7749, -122.4194), risk(10.0));
+
+        assertNotEquals(empty.getEntityTag(), tileService.buildTile(Z, X, Y).getEntityTag());
+    }
+
+    @Test
+    void getTile_ServesCachedTileUntilExpiry() {
+        RiskTile first = tileService.getTile(Z, X, Y);
+        weatherCache.putFloodRisk(geoGrid.cellOf(37.7749, -122.4194), risk(50.0));
+
+        assertSame(first, tileService.getTile(Z, X, Y));
+    }
+
+    @Test
+    void getTile_RejectsCoordinatesOutsideZoomLevel() {
+        assertThrows(BadRequestException.class, () -> tileService.getTile(2, 4, 0));
+        assertThrows(BadRequestException.class, () -> tileService.getTile(-1, 0, 0));
+        assertThrows(BadRequestException.class, () -> tileService.getTile(23, 0, 0));
+    }
+
+    private static FloodRisk risk(double score) {
+        FloodRisk risk = new FloodRisk();
+        risk.setRiskScore(score);
+        return risk;
+    }
+}
@@ -0,0 +1,67 @@
+package com.floodguard.service;
+
+import com.floodguard.repository.StoredImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+    private ThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString(), 10 << 20,
+            new String[] {"image/png"}, true, mock(StoredImageRepository.class), event -> { });
+        thumbnailService = new ThumbnailService(fileStorageService, new ThreadPoolTaskExecutor());
+    }
+
+    @Test
+    void generateVariants_WritesDownscaledJpegs() throws Exception {
+        BufferedImage source = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(source, "png", png);
+        StoredFile stored = fileStorageService.storeStream(
+            new ByteArrayInputStream(png.toByteArray()), "image/png", png.size());
+
+        thumbnailService.generateVariants(stored.getFileName());
+
+        BufferedImage thumbnail = ImageIO.read(
+            uploadDir.resolve(ImageVariant.THUMBNAIL.fileName(stored.getFileName())).toFile());
+        BufferedImage preview = ImageIO.read(
+            uploadDir.resolve(ImageVariant.PREVIEW.fileName(stored.getFileName())).toFile());
+        assertEquals(160, thumbnail.getWidth());
+        assertEquals(80, thumbnail.getHeight());
+        assertEquals(480, preview.getWidth());
+        assertEquals(240, preview.getHeight());
+    }
+
+    @Test
+    void generateVariants_IgnoresUndecodableFiles() throws Exception {
+        Files.write(uploadDir.resolve("broken.png"), new byte[] {1, 2, 3});
+
+        thumbnailService.generateVariants("broken.png");
+
+        assertFalse(Files.exists(uploadDir.resolve(ImageVariant.THUMBNAIL.fileName("broken.png"))));
+    }
+
+    @Test
+    void fileName_KeepsShardDirectory() {
+        assertEquals("ab/cd/abcd_160.jpg", ImageVariant.THUMBNAIL.fileName("ab/cd/abcd.png"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.RainfallAccumulators;
+import com.floodguard.dto.PrecipitationTotals;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.geo.GridCell;
+import com.floodguard.model.WeatherData;
+import com.floodguard.repository.WeatherObservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WeatherObservationServiceTest {
+
+    private WeatherObservationRepository repository;
+    private WeatherObservationService service;
+    private final GridCell cell = new GridCell(3777, -12242);
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(WeatherObservationRepository.class);
+        service = new WeatherObservationService(repository, new RainfallAccumulators(1000), new GeoGrid(0.01), 2, 3, 30);
+    }
+
+    @Test
+    void flush_WritesBufferedObservationsInBatches() {
+        for (int i = 0; i < 3; i++) {
+            service.record(cell, observation(i));
+        }
+
+        service.flush();
+
+        verify(repository, times(2)).insertBatch(anyList());
+    }
+
+    @Test
+    void record_DropsWhenBufferIsFull() {
+        for (int i = 0; i < 5; i++) {
+            service.record(cell, observation(i));
+        }
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).insertBatch(anyList());
+
+        service.flush();
+        service.flush();
+
+        // Only the three buffered observations were attempted, and a failed batch is not retried
+        verify(repository, times(2)).insertBatch(anyList());
+    }
+
+    @Test
+    void totals_SumsTrailingWindowsAndSkipsMissingHours() {
+        double[] hourly = new double[72];
+        Arrays.fill(hourly, Double.NaN);
+        hourly[0] = 2.0;
+        hourly[5] = 3.0;
+        hourly[30] = 10.0;
+        hourly[71] = 1.0;
+
+        PrecipitationTotals totals = WeatherObservationService.totals(hourly);
+
+        assertEquals(2.0, totals.getLast1h());
+        assertEquals(5.0, totals.getLast24h());
+        assertEquals(16.0, totals.getLast72h());
+        assertEquals(4, totals.getObservedHours());
+        assertEquals(4.0, totals.getAvgHourly72h());
+    }
+
+    @Test
+    void maintainPartitions_CreatesUpcomingAndDropsExpiredDays() {
+        LocalDate today = LocalDate.now();
+        String expired = WeatherObservationRepository.partitionName(today.minusDays(31));
+        String kept = WeatherObservationRepository.partitionName(today.minusDays(30));
+        when(repository.findDailyPartitions()).thenReturn(List.of(expired, kept));
+
+        service.maintainPartitions();
+
+        verify(repository).createTableIfMissing();
+        verify(repository).createDailyPartition(today);
+        verify(repository).createDailyPartition(today.plusDays(2));
+        verify(repository).dropPartition(expired);
+        verify(repository, never()).dropPartition(kept);
+    }
+
+    private static WeatherData observation(int minutesAgo) {
+        WeatherData data = new WeatherData();
+        data.setLatitude(37.775);
+        data.setLongitude(-122.415);
+        data.setPrecipitation(1.5);
+        data.setTimestamp(LocalDateTime.now().minusMinutes(minutesAgo));
+        return data;
+    }
+}
@@ -0,0 +1,141 @@
+package com.floodguard.service;
+
+import com.floodguard.cache.WeatherCache;
+import com.floodguard.client.WeatherApiClient;
+import com.floodguard.dto.GeoPoint;
+import com.floodguard.exception.UpstreamServiceException;
+import com.floodguard.geo.GeoGrid;
+import com.floodguard.ml.RiskModel;
+import com.floodguard.model.FloodRisk;
+import com.floodguard.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WeatherServiceTest {
+
+    private final GeoGrid geoGrid = new GeoGrid(0.01);
+    private WeatherApiClient weatherApiClient;
+    private RiskModel riskModel;
+    private WeatherService weatherService;
+
+    @BeforeEach
+    void setUp() {
+        weatherApiClient = mock(WeatherApiClient.class);
+        riskModel = mock(RiskModel.class);
+        weatherService = new WeatherService(geoGrid, new WeatherCache(1000, 15), weatherApiClient, riskModel,
+            mock(ApplicationEventPublisher.class), mock(WeatherObservationService.class), 1000);
+        when(weatherApiClient.fetchCurrentWeather(anyDouble(), anyDouble()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                weather(invocation.getArgument(0), invocation.getArgument(1), 2.0)));
+        when(riskModel.predictBatch(anyList())).thenAnswer(invocation -> {
+            List<WeatherData> weather = invocation.getArgument(0);
+            List<FloodRisk> risks = new ArrayList<>();
+            for (WeatherData data : weather) {
+                risks.add(risk(data.getLatitude(), data.getLongitude(), data.getPrecipitation() * 10));
+            }
+            return CompletableFuture.completedFuture(risks);
+        });
+    }
+
+    @Test
+    void calculateFloodRiskBatch_ReturnsResultsInInputOrder() {
+        List<GeoPoint> points = List.of(point(37.805, -122.405), point(40.715, -74.005), point(51.505, -0.125));
+
+        List<FloodRisk> risks = weatherService.calculateFloodRiskBatch(points).join();
+
+        assertEquals(3, risks.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(points.get(i).getLatitude(), risks.get(i).getLatitude(), 0.01);
+            assertEquals(points.get(i).getLongitude(), risks.get(i).getLongitude(), 0.01);
+        }
+    }
+
+    @Test
+    void calculateFloodRiskBatch_FetchesAndScoresEachCellOnce() {
+        // The first two points share a 0.01 degree cell
+        List<GeoPoint> points = List.of(point(37.801, -122.401), point(37.809, -122.409), point(40.715, -74.005));
+
+        List<FloodRisk> risks = weatherService.calculateFloodRiskBatch(points).join();
+
+        assertSame(risks.get(0), risks.get(1));
+        assertNotSame(risks.get(0), risks.get(2));
+        verify(weatherApiClient, times(2)).fetchCurrentWeather(anyDouble(), anyDouble());
+        verify(riskModel).predictBatch(argThat(weather -> weather.size() == 2));
+    }
+
+    @Test
+    void calculateFloodRiskBatch_ReusesCachedRisks() {
+        List<GeoPoint> points = List.of(point(37.805, -122.405));
+        weatherService.calculateFloodRiskBatch(points).join();
+
+        weatherService.calculateFloodRiskBatch(points).join();
+
+        verify(weatherApiClient, times(1)).fetchCurrentWeather(anyDouble(), anyDouble());
+        verify(riskModel, times(1)).predictBatch(anyList());
+    }
+
+    @Test
+    void calculateFloodRiskBatch_MapsFailedWeatherToNull() {
+        when(weatherApiClient.fetchCurrentWeather(eq(geoGrid.centerLatitude(geoGrid.cellOf(40.715, -74.005))), anyDouble()))
+            .thenReturn(CompletableFuture.failedFuture(new UpstreamServiceException("Weather API request failed")));
+        List<GeoPoint> points = List.of(point(37.805, -122.405), point(40.715, -74.005));
+
+        List<FloodRisk> risks = weatherService.calculateFloodRiskBatch(points).join();
+
+        assertNotNull(risks.get(0));
+        assertNull(risks.get(1));
+        verify(riskModel).predictBatch(argThat(weather -> weather.size() == 1));
+    }
+
+    @Test
+    void calculateFloodRiskBatch_FallsBackToHeuristicWhenModelFails() {
+        when(riskModel.predictBatch(anyList()))
+            .thenReturn(CompletableFuture.failedFuture(new UpstreamServiceException("ML service request failed")));
+        List<GeoPoint> points = List.of(point(37.805, -122.405), point(40.715, -74.005));
+
+        List<FloodRisk> risks = weatherService.calculateFloodRiskBatch(points).join();
+
+        assertEquals(2, risks.size());
+        for (FloodRisk risk : risks) {
+            // 2mm rain, 50% humidity, 4 m/s wind, 15°C: 8 + 10 + 2 + 0
+            assertEquals(20.0, risk.getRiskScore(), 1e-9);
+            assertEquals("LOW", risk.getRiskLevel());
+            assertEquals(List.of(), risk.getFactors());
+        }
+    }
+
+    private static GeoPoint point(double latitude, double longitude) {
+        return new GeoPoint(latitude, longitude);
+    }
+
+    private static WeatherData weather(double latitude, double longitude, double precipitation) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setLatitude(latitude);
+        weatherData.setLongitude(longitude);
+        weatherData.setTemperature(15.0);
+        weatherData.setHumidity(50);
+        weatherData.setPrecipitation(precipitation);
+        weatherData.setWindSpeed(4.0);
+        return weatherData;
+    }
+
+    private static FloodRisk risk(double latitude, double longitude, double riskScore) {
+        FloodRisk risk = new FloodRisk();
+        risk.setLatitude(latitude);
+        risk.setLongitude(longitude);
+        risk.setRiskScore(riskScore);
+        risk.setRiskLevel("LOW");
+        return risk;
+    }
+}